@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Пропускная способность импорта организаций при разном числе воркеров.
+# Сервис запускается отдельно для каждого значения: IMPORT_PARALLEL_WORKERS=1, 4, 8.
+# Запуск: BASE_URL=http://localhost:8080 USERNAME=admin PASSWORD=admin ROWS=100000 docs/import-benchmark.sh
+
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+USERNAME=${USERNAME:?USERNAME is required}
+PASSWORD=${PASSWORD:?PASSWORD is required}
+ROWS=${ROWS:-100000}
+FILE=${FILE:-/tmp/organizations-${ROWS}.json}
+
+if [ ! -f "$FILE" ]; then
+python3 - "$ROWS" "$FILE" <<'PY'
+import json, sys, uuid
+rows, path = int(sys.argv[1]), sys.argv[2]
+run = uuid.uuid4().hex[:8]
+with open(path, "w") as out:
+    out.write("[")
+    for i in range(rows):
+        if i:
+            out.write(",")
+        json.dump({
+            "name": f"Bench {i}",
+            "fullName": f"Bench {run} {i}",
+            "coordinates": {"x": i % 1000, "y": i % 977},
+            "annualTurnover": 1000 + i,
+            "employeesCount": i % 500,
+            "rating": 1 + i % 10,
+            "type": "COMMERCIAL",
+            "postalAddress": {"zipCode": f"{i:07d}", "town": {"x": 1, "y": 2, "z": 3.0, "name": f"Town {i % 5000}"}}
+        }, out)
+    out.write("]")
+PY
+fi
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" \
+    "$BASE_URL/api/auth/login" | python3 -c 'import json,sys; print(json.load(sys.stdin)["token"])')
+
+START=$(date +%s.%N)
+ID=$(curl -sf -H "Authorization: Bearer $TOKEN" -F "file=@$FILE;type=application/json" \
+    "$BASE_URL/api/imports?objectType=ORGANIZATION" | python3 -c 'import json,sys; print(json.load(sys.stdin)["id"])')
+
+while true; do
+    STATUS=$(curl -sf -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/imports/$ID" \
+        | python3 -c 'import json,sys; print(json.load(sys.stdin)["status"])')
+    [ "$STATUS" != "IN_PROGRESS" ] && break
+    sleep 0.5
+done
+END=$(date +%s.%N)
+
+python3 - "$START" "$END" "$ROWS" "$STATUS" <<'PY'
+import sys
+start, end, rows, status = float(sys.argv[1]), float(sys.argv[2]), int(sys.argv[3]), sys.argv[4]
+elapsed = end - start
+print(f"status={status} rows={rows} seconds={elapsed:.1f} rows_per_second={rows / elapsed:.0f}")
+PY
@@ -0,0 +1,79 @@
+-- Сравнение поиска по подстроке: LIKE без индексов и с триграммными GIN-индексами,
+-- а также прежнего запроса с LEFT JOIN и нового запроса с подзапросами IN.
+-- Запуск на пустой схеме: psql -v rows=10000 -f docs/search-benchmark.sql
+-- Повторить для rows=100000 и rows=1000000.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS search_bench CASCADE;
+CREATE SCHEMA search_bench;
+SET search_path = search_bench, public;
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+
+CREATE TABLE location (id bigint PRIMARY KEY, name varchar(255) NOT NULL, x bigint NOT NULL, y bigint NOT NULL, z float8 NOT NULL);
+CREATE TABLE address (id bigint PRIMARY KEY, zip_code varchar(255), town_id bigint NOT NULL REFERENCES location);
+CREATE TABLE organization (
+    id bigint PRIMARY KEY,
+    name varchar(255) NOT NULL,
+    full_name varchar(255),
+    postal_address_id bigint NOT NULL REFERENCES address
+);
+
+INSERT INTO location
+SELECT g, 'Town ' || md5(g::text), g, g, g FROM generate_series(1, greatest(:rows / 100, 1)) g;
+INSERT INTO address
+SELECT g, lpad((g * 7919 % 10000000)::text, 7, '0'), 1 + g % greatest(:rows / 100, 1) FROM generate_series(1, :rows) g;
+INSERT INTO organization
+SELECT g, 'Org ' || md5(g::text), 'Organization ' || md5((g * 31)::text), g FROM generate_series(1, :rows) g;
+ANALYZE;
+
+\echo '=== LIKE без триграммных индексов ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM organization o WHERE lower(o.name) LIKE '%a1b2%';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM organization o
+WHERE lower(o.name) LIKE '%a1b2%'
+   OR lower(o.full_name) LIKE '%a1b2%'
+   OR o.postal_address_id IN (SELECT a.id FROM address a WHERE lower(a.zip_code) LIKE '%a1b2%')
+   OR o.postal_address_id IN (SELECT a.id FROM address a WHERE a.town_id IN (
+        SELECT l.id FROM location l WHERE lower(l.name) LIKE '%a1b2%'));
+\echo '--- прежний запрос с LEFT JOIN ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM organization o
+LEFT JOIN address a ON a.id = o.postal_address_id
+LEFT JOIN location l ON l.id = a.town_id
+WHERE lower(o.name) LIKE '%a1b2%'
+   OR lower(o.full_name) LIKE '%a1b2%'
+   OR lower(a.zip_code) LIKE '%a1b2%'
+   OR lower(l.name) LIKE '%a1b2%';
+
+CREATE INDEX idx_organization_name_trgm ON organization USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_organization_full_name_trgm ON organization USING gin (lower(full_name) gin_trgm_ops);
+CREATE INDEX idx_address_zip_code_trgm ON address USING gin (lower(zip_code) gin_trgm_ops);
+CREATE INDEX idx_location_name_trgm ON location USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_organization_postal_address_id ON organization (postal_address_id);
+CREATE INDEX idx_address_town_id ON address (town_id);
+ANALYZE;
+
+\echo '=== LIKE с триграммными индексами ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM organization o WHERE lower(o.name) LIKE '%a1b2%';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM organization o
+WHERE lower(o.name) LIKE '%a1b2%'
+   OR lower(o.full_name) LIKE '%a1b2%'
+   OR o.postal_address_id IN (SELECT a.id FROM address a WHERE lower(a.zip_code) LIKE '%a1b2%')
+   OR o.postal_address_id IN (SELECT a.id FROM address a WHERE a.town_id IN (
+        SELECT l.id FROM location l WHERE lower(l.name) LIKE '%a1b2%'));
+\echo '--- прежний запрос с LEFT JOIN ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM organization o
+LEFT JOIN address a ON a.id = o.postal_address_id
+LEFT JOIN location l ON l.id = a.town_id
+WHERE lower(o.name) LIKE '%a1b2%'
+   OR lower(o.full_name) LIKE '%a1b2%'
+   OR lower(a.zip_code) LIKE '%a1b2%'
+   OR lower(l.name) LIKE '%a1b2%';
+
+DROP SCHEMA search_bench CASCADE;
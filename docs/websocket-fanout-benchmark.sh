@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+# Задержка доставки уведомлений /topic/organizations подписчикам внешнего STOMP-брокера.
+# Брокер: docker-compose --profile relay up rabbitmq; сервис: WEBSOCKET_BROKER_MODE=relay.
+# Подписчики подключаются к брокеру напрямую, сервис публикует изменения через relay.
+# Запуск: BASE_URL=http://localhost:8080 USERNAME=admin PASSWORD=admin SUBSCRIBERS=10000 docs/websocket-fanout-benchmark.sh
+# Для 10k соединений нужен ulimit -n не меньше 12000.
+
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+USERNAME=${USERNAME:?USERNAME is required}
+PASSWORD=${PASSWORD:?PASSWORD is required}
+STOMP_HOST=${STOMP_HOST:-localhost}
+STOMP_PORT=${STOMP_PORT:-61613}
+STOMP_LOGIN=${STOMP_LOGIN:-guest}
+STOMP_PASSCODE=${STOMP_PASSCODE:-guest}
+SUBSCRIBERS=${SUBSCRIBERS:-10000}
+ROUNDS=${ROUNDS:-20}
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" \
+    "$BASE_URL/api/auth/login" | python3 -c 'import json,sys; print(json.load(sys.stdin)["token"])')
+
+python3 - "$BASE_URL" "$TOKEN" "$STOMP_HOST" "$STOMP_PORT" "$STOMP_LOGIN" "$STOMP_PASSCODE" \
+    "$SUBSCRIBERS" "$ROUNDS" <<'PY'
+import asyncio, json, sys, time, urllib.request, uuid
+
+base_url, token, host, port, login, passcode = sys.argv[1:7]
+subscribers, rounds = int(sys.argv[7]), int(sys.argv[8])
+run = uuid.uuid4().hex[:8]
+sent = {}
+received = {}
+
+def frame(command, headers, body=""):
+    head = "".join(f"{k}:{v}\n" for k, v in headers.items())
+    return f"{command}\n{head}\n{body}\0".encode()
+
+async def subscriber(n, ready):
+    reader, writer = await asyncio.open_connection(host, int(port))
+    writer.write(frame("CONNECT", {"accept-version": "1.2", "host": "/", "login": login,
+                                   "passcode": passcode, "heart-beat": "0,0"}))
+    writer.write(frame("SUBSCRIBE", {"id": "0", "destination": "/topic/organizations"}))
+    await writer.drain()
+    ready.release()
+    buffer = b""
+    while True:
+        chunk = await reader.read(65536)
+        if not chunk:
+            return
+        buffer += chunk
+        while b"\0" in buffer:
+            raw, buffer = buffer.split(b"\0", 1)
+            now = time.perf_counter()
+            head, _, body = raw.decode().partition("\n\n")
+            if not head.lstrip("\n").startswith("MESSAGE") or not body:
+                continue
+            for item in json.loads(body).get("items") or []:
+                if item.get("id") in sent:
+                    received.setdefault(item["id"], []).append(now)
+
+def create(i):
+    payload = json.dumps({
+        "name": f"Fanout {i}", "fullName": f"Fanout {run} {i}",
+        "coordinates": {"x": i, "y": i}, "annualTurnover": 1000, "employeesCount": 1,
+        "rating": 1, "type": "COMMERCIAL"}).encode()
+    request = urllib.request.Request(f"{base_url}/api/organizations", data=payload, method="POST",
+        headers={"Content-Type": "application/json", "Authorization": f"Bearer {token}"})
+    start = time.perf_counter()
+    with urllib.request.urlopen(request) as response:
+        return json.load(response)["id"], start
+
+async def main():
+    ready = asyncio.Semaphore(0)
+    tasks = [asyncio.create_task(subscriber(n, ready)) for n in range(subscribers)]
+    for _ in range(subscribers):
+        await ready.acquire()
+    await asyncio.sleep(1)
+    loop = asyncio.get_running_loop()
+    for i in range(rounds):
+        future = loop.run_in_executor(None, create, i)
+        id, start = await future
+        sent[id] = start
+        await asyncio.sleep(0.5)
+    await asyncio.sleep(2)
+    latencies = sorted((t - sent[id]) * 1000 for id, times in received.items() for t in times)
+    delivered = len(latencies)
+    expected = subscribers * rounds
+    if not latencies:
+        print(f"subscribers={subscribers} rounds={rounds} delivered=0")
+    else:
+        pick = lambda q: latencies[min(delivered - 1, int(q * delivered))]
+        print(f"subscribers={subscribers} rounds={rounds} delivered={delivered}/{expected} "
+              f"p50_ms={pick(0.5):.1f} p99_ms={pick(0.99):.1f} max_ms={latencies[-1]:.1f}")
+    for task in tasks:
+        task.cancel()
+
+asyncio.run(main())
+PY
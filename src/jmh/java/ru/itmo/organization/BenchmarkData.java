@@ -0,0 +1,86 @@
+package ru.itmo.organization;
+
+import java.time.LocalDate;
+import ru.itmo.organization.dto.ImportAddressDto;
+import ru.itmo.organization.dto.ImportCoordinatesDto;
+import ru.itmo.organization.dto.ImportLocationDto;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.model.Organization;
+import ru.itmo.organization.model.OrganizationType;
+
+public final class BenchmarkData {
+
+    private static final OrganizationType[] TYPES = OrganizationType.values();
+
+    private BenchmarkData() {
+    }
+
+    public static Location location(int i) {
+        Location location = new Location();
+        location.setX((long) i);
+        location.setY((long) i * 2);
+        location.setZ(i / 10.0);
+        location.setName("Town " + i);
+        return location;
+    }
+
+    public static Address address(int i, Location town) {
+        Address address = new Address();
+        address.setZipCode(String.format("%07d", i));
+        address.setTown(town);
+        return address;
+    }
+
+    public static Coordinates coordinates(int i) {
+        Coordinates coordinates = new Coordinates();
+        coordinates.setX((long) i % 1000);
+        coordinates.setY((long) i / 1000);
+        return coordinates;
+    }
+
+    public static Organization organization(int i, Coordinates coordinates, Address postal, Address official) {
+        Organization organization = new Organization();
+        organization.setName("Bench " + i);
+        organization.setFullName("Bench organization " + i);
+        organization.setCreationDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        organization.setAnnualTurnover(1000L + i);
+        organization.setEmployeesCount(i % 500);
+        organization.setRating(1 + i % 10);
+        organization.setType(TYPES[i % TYPES.length]);
+        organization.setCoordinates(coordinates);
+        organization.setPostalAddress(postal);
+        organization.setOfficialAddress(official);
+        return organization;
+    }
+
+    public static ImportOrganizationDto importOrganization(int i) {
+        ImportLocationDto town = new ImportLocationDto();
+        town.setX((long) i);
+        town.setY((long) i * 2);
+        town.setZ(i / 10.0);
+        town.setName("Town " + i);
+
+        ImportAddressDto address = new ImportAddressDto();
+        address.setZipCode(String.format("%07d", i));
+        address.setTown(town);
+
+        ImportCoordinatesDto coordinates = new ImportCoordinatesDto();
+        coordinates.setX((long) i % 1000);
+        coordinates.setY((long) i / 1000);
+
+        ImportOrganizationDto organization = new ImportOrganizationDto();
+        organization.setName("Bench " + i);
+        organization.setFullName("Bench organization " + i);
+        organization.setAnnualTurnover(1000L + i);
+        organization.setEmployeesCount(i % 500);
+        organization.setRating(1 + i % 10);
+        organization.setType(TYPES[i % TYPES.length]);
+        organization.setCoordinates(coordinates);
+        organization.setPostalAddress(address);
+        organization.setOfficialAddress(address);
+        return organization;
+    }
+}
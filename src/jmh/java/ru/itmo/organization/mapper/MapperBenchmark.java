@@ -0,0 +1,87 @@
+package ru.itmo.organization.mapper;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.itmo.organization.BenchmarkData;
+import ru.itmo.organization.dto.AddressDto;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.dto.OrganizationDto;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.model.Organization;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ReferenceMapper referenceMapper;
+    private OrganizationMapper organizationMapper;
+    private ImportMapper importMapper;
+    private Organization organization;
+    private Address address;
+    private OrganizationDto organizationDto;
+    private AddressDto addressDto;
+    private ImportOrganizationDto importOrganization;
+
+    @Setup
+    public void setUp() {
+        referenceMapper = new ReferenceMapper();
+        organizationMapper = new OrganizationMapper(referenceMapper);
+        importMapper = new ImportMapper();
+
+        Location town = BenchmarkData.location(1);
+        town.setId(1L);
+        Coordinates coordinates = BenchmarkData.coordinates(1);
+        coordinates.setId(1L);
+        Address postal = BenchmarkData.address(1, town);
+        postal.setId(1L);
+        Address official = BenchmarkData.address(2, town);
+        official.setId(2L);
+        organization = BenchmarkData.organization(1, coordinates, postal, official);
+        organization.setId(1L);
+        address = postal;
+
+        organizationDto = organizationMapper.toDto(organization);
+        addressDto = referenceMapper.toDto(address);
+        importOrganization = BenchmarkData.importOrganization(1);
+    }
+
+    @Benchmark
+    public OrganizationDto organizationToDto() {
+        return organizationMapper.toDto(organization);
+    }
+
+    @Benchmark
+    public Organization organizationToEntity() {
+        return organizationMapper.toEntity(organizationDto);
+    }
+
+    @Benchmark
+    public AddressDto addressToDto() {
+        return referenceMapper.toDto(address);
+    }
+
+    @Benchmark
+    public Address addressToEntity() {
+        return referenceMapper.toEntity(addressDto);
+    }
+
+    @Benchmark
+    public OrganizationDto importToOrganizationDto() {
+        return importMapper.toOrganizationDto(importOrganization);
+    }
+}
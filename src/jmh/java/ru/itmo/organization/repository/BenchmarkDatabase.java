@@ -0,0 +1,96 @@
+package ru.itmo.organization.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itmo.organization.BenchmarkData;
+import ru.itmo.organization.config.ResultCacheProperties;
+import ru.itmo.organization.config.SearchProperties;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.search.OrganizationSearchIndex;
+
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    private static final int FLUSH_SIZE = 500;
+    private static final int TOWNS = 100;
+
+    private final LocalContainerEntityManagerFactoryBean factoryBean;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+
+    private BenchmarkDatabase(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("ru.itmo.organization.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false",
+                "hibernate.jdbc.batch_size", String.valueOf(FLUSH_SIZE)));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    }
+
+    public static BenchmarkDatabase start(String name) {
+        return new BenchmarkDatabase(name);
+    }
+
+    public EntityManager entityManager() {
+        return entityManager;
+    }
+
+    public OrganizationRepository organizationRepository() {
+        SearchProperties searchProperties = new SearchProperties();
+        OrganizationSearchIndex searchIndex = new OrganizationSearchIndex(searchProperties,
+                new SimpleMeterRegistry());
+        ResultCacheProperties resultCacheProperties = new ResultCacheProperties();
+        resultCacheProperties.setEnabled(false);
+        OrganizationRepository repository = new OrganizationRepository(new OrganizationCountCache(searchProperties),
+                new OrganizationResultCache(resultCacheProperties, new SimpleMeterRegistry()), searchIndex);
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        return repository;
+    }
+
+    public void seed(int organizations) {
+        new TransactionTemplate(new JpaTransactionManager(entityManagerFactory)).executeWithoutResult(status -> {
+            Location[] towns = new Location[TOWNS];
+            for (int i = 0; i < TOWNS; i++) {
+                towns[i] = BenchmarkData.location(i);
+                entityManager.persist(towns[i]);
+            }
+            for (int i = 0; i < organizations; i++) {
+                Location town = entityManager.getReference(Location.class, towns[i % TOWNS].getId());
+                Coordinates coordinates = BenchmarkData.coordinates(i);
+                Address postal = BenchmarkData.address(i, town);
+                entityManager.persist(coordinates);
+                entityManager.persist(postal);
+                entityManager.persist(BenchmarkData.organization(i, coordinates, postal, null));
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        factoryBean.destroy();
+    }
+}
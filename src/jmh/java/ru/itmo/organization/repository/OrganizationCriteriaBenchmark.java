@@ -0,0 +1,64 @@
+package ru.itmo.organization.repository;
+
+import jakarta.persistence.criteria.CriteriaQuery;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrganizationCriteriaBenchmark {
+
+    @Param({"", "name", "all"})
+    private String searchField;
+
+    private BenchmarkDatabase database;
+    private OrganizationRepository repository;
+    private String searchTerm;
+    private Sort sort;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start("criteria");
+        repository = database.organizationRepository();
+        searchTerm = searchField.isEmpty() ? null : "bench 1";
+        sort = Sort.by(Sort.Order.asc("postalAddress.town.name"), Sort.Order.desc("rating"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Object[]> buildPageQuery() {
+        return repository.buildPageQuery(searchTerm, searchField, Optional.empty(), sort);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Long> buildCountQuery() {
+        return repository.buildCountQuery(searchTerm, searchField);
+    }
+
+    @Benchmark
+    public Object translatePageQuery() {
+        return database.entityManager()
+                .createQuery(repository.buildPageQuery(searchTerm, searchField, Optional.empty(), sort));
+    }
+}
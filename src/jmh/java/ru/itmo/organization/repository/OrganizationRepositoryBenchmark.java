@@ -0,0 +1,79 @@
+package ru.itmo.organization.repository;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.itmo.organization.model.Organization;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrganizationRepositoryBenchmark {
+
+    @Param({"10000"})
+    private int organizations;
+
+    private BenchmarkDatabase database;
+    private OrganizationRepository repository;
+    private Pageable page;
+    private Pageable deepPage;
+    private Sort sort;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start("repository");
+        database.seed(organizations);
+        repository = database.organizationRepository();
+        sort = Sort.by("name");
+        page = PageRequest.of(0, 20, sort);
+        deepPage = PageRequest.of(organizations / 20 / 2, 20, sort);
+        cursor = repository.findSlice(null, null, sort, null, 20).nextCursor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public CountedPage<Organization> firstPage() {
+        return repository.findAllWithDetails(page, CountStrategy.EXACT);
+    }
+
+    @Benchmark
+    public CountedPage<Organization> deepPage() {
+        return repository.findAllWithDetails(deepPage, CountStrategy.EXACT);
+    }
+
+    @Benchmark
+    public CountedPage<Organization> searchByName() {
+        return repository.search("bench 12", "name", page, CountStrategy.EXACT);
+    }
+
+    @Benchmark
+    public CountedPage<Organization> searchAllFields() {
+        return repository.search("town 1", "all", page, CountStrategy.EXACT);
+    }
+
+    @Benchmark
+    public KeysetSlice<Organization> nextSlice() {
+        return repository.findSlice(null, null, sort, cursor, 20);
+    }
+}
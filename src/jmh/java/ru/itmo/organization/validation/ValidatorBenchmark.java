@@ -0,0 +1,120 @@
+package ru.itmo.organization.validation;
+
+import static org.mockito.Mockito.mock;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.itmo.organization.BenchmarkData;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.dto.OrganizationDto;
+import ru.itmo.organization.mapper.OrganizationMapper;
+import ru.itmo.organization.mapper.ReferenceMapper;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.repository.AdvisoryLockRepository;
+import ru.itmo.organization.repository.BenchmarkDatabase;
+import ru.itmo.organization.repository.OrganizationRepository;
+import ru.itmo.organization.service.OrganizationService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @Param({"10000"})
+    private int organizations;
+
+    private BenchmarkDatabase database;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private OrganizationService organizationService;
+    private Method create;
+    private OrganizationDto organization;
+    private OrganizationDto duplicate;
+    private ImportOrganizationDto importOrganization;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        database = BenchmarkDatabase.start("validator");
+        database.seed(organizations);
+        OrganizationRepository repository = database.organizationRepository();
+
+        var configuration = Validation.byDefaultProvider().configure();
+        ConstraintValidatorFactory defaultFactory = configuration.getDefaultConstraintValidatorFactory();
+        validatorFactory = configuration.constraintValidatorFactory(new ConstraintValidatorFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                if (key == UniqueConstraintValidator.class) {
+                    return (T) new UniqueConstraintValidator(repository, new AdvisoryLockRepository(null));
+                }
+                return defaultFactory.getInstance(key);
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+                defaultFactory.releaseInstance(instance);
+            }
+        }).buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+        organizationService = mock(OrganizationService.class);
+        create = OrganizationService.class.getMethod("create", OrganizationDto.class);
+
+        OrganizationMapper mapper = new OrganizationMapper(new ReferenceMapper());
+        Location town = BenchmarkData.location(organizations);
+        Coordinates coordinates = BenchmarkData.coordinates(organizations);
+        Address postal = BenchmarkData.address(organizations, town);
+        organization = mapper.toDto(BenchmarkData.organization(organizations, coordinates, postal, null));
+        duplicate = mapper.toDto(BenchmarkData.organization(organizations / 2, coordinates, postal, null));
+        importOrganization = BenchmarkData.importOrganization(organizations);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<OrganizationDto>> organizationDto() {
+        return validator.validate(organization);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ImportOrganizationDto>> importOrganizationDto() {
+        return validator.validate(importOrganization);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<OrganizationService>> createUnique() {
+        return validator.forExecutables().validateParameters(organizationService, create, new Object[] {organization});
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<OrganizationService>> createDuplicate() {
+        return validator.forExecutables().validateParameters(organizationService, create, new Object[] {duplicate});
+    }
+}
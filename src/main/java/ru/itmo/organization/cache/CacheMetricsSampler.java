@@ -0,0 +1,179 @@
+package ru.itmo.organization.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import ru.itmo.organization.config.CacheSettingsProperties;
+
+@Component
+@Slf4j
+public class CacheMetricsSampler {
+
+    private static final String EHCACHE_STATISTICS = "javax.cache:type=CacheStatistics,*";
+    private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(30);
+
+    private final Statistics statistics;
+    private final MeterRegistry meterRegistry;
+    private final CacheSettingsProperties properties;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final Map<String, RegionMetrics> regions = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler scheduler;
+    private volatile Instant lastSample;
+
+    public CacheMetricsSampler(
+            Statistics statistics,
+            MeterRegistry meterRegistry,
+            CacheSettingsProperties properties) {
+        this.statistics = statistics;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        Duration interval = properties.getSampleInterval();
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            interval = DEFAULT_INTERVAL;
+        }
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("cache-metrics-");
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::scheduledSample, interval);
+    }
+
+    public synchronized Map<String, RegionSnapshot> sample() {
+        Map<String, Long> evictions = ehcacheEvictions();
+        Map<String, RegionSnapshot> snapshots = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            RegionMetrics metrics = regions.computeIfAbsent(region, RegionMetrics::new);
+            snapshots.put(region, metrics.update(regionStatistics, evictions.getOrDefault(region, 0L)));
+        }
+        lastSample = Instant.now();
+        return snapshots;
+    }
+
+    public Map<String, RegionSnapshot> lastSnapshot() {
+        Map<String, RegionSnapshot> snapshots = new LinkedHashMap<>();
+        regions.forEach((region, metrics) -> snapshots.put(region, metrics.snapshot));
+        return snapshots;
+    }
+
+    public Instant lastSampleTime() {
+        return lastSample;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private void scheduledSample() {
+        if (!properties.isSamplingEnabled()) {
+            return;
+        }
+        try {
+            Map<String, RegionSnapshot> snapshots = sample();
+            if (properties.isReportingEnabled()) {
+                snapshots.forEach((region, snapshot) -> log.info(
+                        "L2 cache {}: hits={}, misses={}, puts={}, evictions={}, entries={}, hitRatio={}",
+                        region, snapshot.hits(), snapshot.misses(), snapshot.puts(), snapshot.evictions(),
+                        snapshot.entries(), String.format("%.3f", snapshot.hitRatio())));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Не удалось снять статистику кэша второго уровня: {}", ex.getMessage());
+        }
+    }
+
+    private Map<String, Long> ehcacheEvictions() {
+        Map<String, Long> evictions = new HashMap<>();
+        try {
+            for (ObjectName name : mBeanServer.queryNames(new ObjectName(EHCACHE_STATISTICS), null)) {
+                String cache = name.getKeyProperty("Cache");
+                Object value = mBeanServer.getAttribute(name, "CacheEvictions");
+                if (cache != null && value instanceof Number number) {
+                    evictions.merge(cache, number.longValue(), Long::sum);
+                }
+            }
+        } catch (Exception ex) {
+            log.debug("Статистика Ehcache недоступна: {}", ex.getMessage());
+        }
+        return evictions;
+    }
+
+    public record RegionSnapshot(long hits, long misses, long puts, long evictions, long entries, double hitRatio) {}
+
+    private final class RegionMetrics {
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter puts;
+        private final Counter evictions;
+        private long lastHits;
+        private long lastMisses;
+        private long lastPuts;
+        private long lastEvictions;
+        private volatile RegionSnapshot snapshot = new RegionSnapshot(0, 0, 0, 0, 0, 0);
+
+        private RegionMetrics(String region) {
+            hits = counter("cache.l2.hits", region);
+            misses = counter("cache.l2.misses", region);
+            puts = counter("cache.l2.puts", region);
+            evictions = counter("cache.l2.evictions", region);
+            Gauge.builder("cache.l2.entries", this, metrics -> metrics.snapshot.entries())
+                    .tag("region", region)
+                    .register(meterRegistry);
+            Gauge.builder("cache.l2.hit.ratio", this, metrics -> metrics.snapshot.hitRatio())
+                    .description("Доля попаданий за последний интервал")
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+
+        private Counter counter(String name, String region) {
+            return Counter.builder(name).tag("region", region).register(meterRegistry);
+        }
+
+        private RegionSnapshot update(CacheRegionStatistics statistics, long evictionCount) {
+            long hitCount = statistics.getHitCount();
+            long missCount = statistics.getMissCount();
+            long putCount = statistics.getPutCount();
+            long hitDelta = delta(hitCount, lastHits);
+            long missDelta = delta(missCount, lastMisses);
+            long putDelta = delta(putCount, lastPuts);
+            long evictionDelta = delta(evictionCount, lastEvictions);
+            lastHits = hitCount;
+            lastMisses = missCount;
+            lastPuts = putCount;
+            lastEvictions = evictionCount;
+
+            hits.increment(hitDelta);
+            misses.increment(missDelta);
+            puts.increment(putDelta);
+            evictions.increment(evictionDelta);
+
+            long lookups = hitDelta + missDelta;
+            long entries = Math.max(0, statistics.getElementCountInMemory());
+            snapshot = new RegionSnapshot(hitDelta, missDelta, putDelta, evictionDelta, entries,
+                    lookups == 0 ? 0 : (double) hitDelta / lookups);
+            return snapshot;
+        }
+
+        private long delta(long current, long previous) {
+            return current >= previous ? current - previous : current;
+        }
+    }
+}
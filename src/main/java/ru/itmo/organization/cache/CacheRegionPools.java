@@ -0,0 +1,45 @@
+package ru.itmo.organization.cache;
+
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+
+final class CacheRegionPools {
+
+    private CacheRegionPools() {
+    }
+
+    static ResourcePools resize(ResourcePools pools, Long heapEntries, Long offheapMegabytes) {
+        ResourcePoolsBuilder builder = ResourcePoolsBuilder.newResourcePoolsBuilder(pools);
+        if (heapEntries != null) {
+            builder = builder.withReplacing(heap(heapEntries).getPoolForResource(ResourceType.Core.HEAP));
+        }
+        if (offheapMegabytes != null) {
+            builder = builder.withReplacing(ResourcePoolsBuilder.newResourcePoolsBuilder()
+                    .offheap(offheapMegabytes, MemoryUnit.MB)
+                    .build()
+                    .getPoolForResource(ResourceType.Core.OFFHEAP));
+        }
+        return builder.build();
+    }
+
+    static ResourcePools heap(long entries) {
+        return ResourcePoolsBuilder.newResourcePoolsBuilder().heap(entries, EntryUnit.ENTRIES).build();
+    }
+
+    static Long heapEntries(ResourcePools pools) {
+        SizedResourcePool pool = pools.getPoolForResource(ResourceType.Core.HEAP);
+        return pool != null && pool.getUnit() == EntryUnit.ENTRIES ? pool.getSize() : null;
+    }
+
+    static Long offheapMegabytes(ResourcePools pools) {
+        SizedResourcePool pool = pools.getPoolForResource(ResourceType.Core.OFFHEAP);
+        if (pool == null || !(pool.getUnit() instanceof MemoryUnit unit)) {
+            return null;
+        }
+        return unit.toBytes(pool.getSize()) / MemoryUnit.MB.toBytes(1);
+    }
+}
@@ -0,0 +1,234 @@
+package ru.itmo.organization.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.EntityType;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import lombok.extern.slf4j.Slf4j;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.TierStatistics;
+import org.hibernate.CacheMode;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itmo.organization.config.CacheWarmupProperties;
+import ru.itmo.organization.dto.CacheRegionDto;
+import ru.itmo.organization.dto.CacheRegionSettingsDto;
+import ru.itmo.organization.exception.ResourceNotFoundException;
+import ru.itmo.organization.model.CacheRegionSetting;
+import ru.itmo.organization.repository.CacheRegionSettingRepository;
+
+@Service
+@Slf4j
+public class CacheRegionService {
+
+    private static final int DEFAULT_WARM_LIMIT = 10000;
+
+    private final CacheManager cacheManager;
+    private final Statistics statistics;
+    private final CacheMetricsSampler sampler;
+    private final CacheRegionSettingRepository settingRepository;
+    private final StatisticsService statisticsService;
+    private final CacheWarmupProperties warmupProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CacheRegionService(
+            CacheManager hibernateCacheManager,
+            Statistics statistics,
+            CacheMetricsSampler sampler,
+            CacheRegionSettingRepository settingRepository,
+            CacheWarmupProperties warmupProperties) {
+        this.cacheManager = hibernateCacheManager;
+        this.statistics = statistics;
+        this.sampler = sampler;
+        this.settingRepository = settingRepository;
+        this.warmupProperties = warmupProperties;
+        this.statisticsService = resolveStatisticsService(hibernateCacheManager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CacheRegionDto> findAll() {
+        Map<String, CacheMetricsSampler.RegionSnapshot> snapshots = sampler.lastSnapshot();
+        List<CacheRegionDto> regions = new ArrayList<>();
+        for (String region : new TreeSet<>(regionNames())) {
+            regions.add(toDto(region, snapshots.get(region)));
+        }
+        return regions;
+    }
+
+    @Transactional(readOnly = true)
+    public CacheRegionDto findByRegion(String region) {
+        requireRegion(region);
+        return toDto(region, sampler.lastSnapshot().get(region));
+    }
+
+    @Transactional
+    public CacheRegionDto resize(String region, CacheRegionSettingsDto settings) {
+        org.ehcache.Cache<?, ?> cache = requireRegion(region);
+        if (settings.getHeapEntries() == null && settings.getOffheapMegabytes() == null) {
+            throw new IllegalArgumentException("Необходимо указать heapEntries или offheapMegabytes");
+        }
+        if (settings.getHeapEntries() != null) {
+            cache.getRuntimeConfiguration().updateResourcePools(CacheRegionPools.heap(settings.getHeapEntries()));
+        }
+
+        CacheRegionSetting setting = settingRepository.findByRegion(region).orElseGet(() -> {
+            CacheRegionSetting created = new CacheRegionSetting();
+            created.setRegion(region);
+            return created;
+        });
+        if (settings.getHeapEntries() != null) {
+            setting.setHeapEntries(settings.getHeapEntries());
+        }
+        if (settings.getOffheapMegabytes() != null) {
+            setting.setOffheapMegabytes(settings.getOffheapMegabytes());
+        }
+        setting.setUpdatedAt(LocalDateTime.now());
+        settingRepository.save(setting);
+        log.info("Регион кэша {} изменён: heap={}, offheap={}MB", region, setting.getHeapEntries(),
+                setting.getOffheapMegabytes());
+        return toDto(region, sampler.lastSnapshot().get(region));
+    }
+
+    @Transactional(readOnly = true)
+    public int warm(String region, Integer limit) {
+        org.ehcache.Cache<?, ?> cache = requireRegion(region);
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Лимит прогрева должен быть положительным");
+        }
+        EntityType<?> entity = entityForRegion(region);
+        Long capacity = CacheRegionPools.heapEntries(cache.getRuntimeConfiguration().getResourcePools());
+        int maxResults = limit != null ? limit : capacity != null ? capacity.intValue() : DEFAULT_WARM_LIMIT;
+        String idName = entity.getId(entity.getIdType().getJavaType()).getName();
+        int batchSize = Math.max(1, warmupProperties.getBatchSize());
+
+        int loaded = 0;
+        try (Stream<?> rows = entityManager.createQuery(
+                        "SELECT e FROM " + entity.getName() + " e ORDER BY e." + idName + " DESC",
+                        entity.getJavaType())
+                .setMaxResults(maxResults)
+                .setHint("org.hibernate.cacheMode", CacheMode.REFRESH)
+                .setHint("org.hibernate.fetchSize", batchSize)
+                .getResultStream()) {
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                if (++loaded % batchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Регион кэша {} прогрет: загружено {}", region, loaded);
+        return loaded;
+    }
+
+    public CacheRegionDto clear(String region) {
+        requireRegion(region);
+        entityManager.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class).evictRegion(region);
+        return toDto(region, sampler.lastSnapshot().get(region));
+    }
+
+    private List<String> regionNames() {
+        List<String> names = new ArrayList<>();
+        cacheManager.getCacheNames().forEach(names::add);
+        return names;
+    }
+
+    private org.ehcache.Cache<?, ?> requireRegion(String region) {
+        Cache<Object, Object> cache = region == null ? null : cacheManager.getCache(region);
+        if (cache == null) {
+            throw new ResourceNotFoundException("Регион кэша " + region + " не найден");
+        }
+        return cache.unwrap(org.ehcache.Cache.class);
+    }
+
+    private EntityType<?> entityForRegion(String region) {
+        for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            org.hibernate.annotations.Cache cache =
+                    entity.getJavaType().getAnnotation(org.hibernate.annotations.Cache.class);
+            if (cache != null && region.equals(cache.region())) {
+                return entity;
+            }
+        }
+        throw new IllegalArgumentException("Регион кэша " + region + " не связан с сущностью и не может быть прогрет");
+    }
+
+    private CacheRegionDto toDto(String region, CacheMetricsSampler.RegionSnapshot snapshot) {
+        org.ehcache.Cache<?, ?> cache = requireRegion(region);
+        ResourcePools pools = cache.getRuntimeConfiguration().getResourcePools();
+        Long offheap = CacheRegionPools.offheapMegabytes(pools);
+        Long configuredOffheap = settingRepository.findByRegion(region)
+                .map(CacheRegionSetting::getOffheapMegabytes)
+                .orElse(null);
+
+        CacheRegionDto dto = new CacheRegionDto();
+        dto.setRegion(region);
+        dto.setHeapEntries(CacheRegionPools.heapEntries(pools));
+        dto.setOffheapMegabytes(offheap);
+        dto.setConfiguredOffheapMegabytes(configuredOffheap != null ? configuredOffheap : offheap);
+        dto.setRestartRequired(configuredOffheap != null && !configuredOffheap.equals(offheap));
+
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics != null) {
+            long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+            dto.setHits(regionStatistics.getHitCount());
+            dto.setMisses(regionStatistics.getMissCount());
+            dto.setHitRatio(lookups == 0 ? 0 : (double) regionStatistics.getHitCount() / lookups);
+            if (regionStatistics.getElementCountInMemory() >= 0) {
+                dto.setEntries(regionStatistics.getElementCountInMemory());
+            }
+        }
+        if (snapshot != null) {
+            dto.setIntervalHitRatio(snapshot.hitRatio());
+        }
+        applyTierStatistics(region, dto);
+        return dto;
+    }
+
+    private void applyTierStatistics(String region, CacheRegionDto dto) {
+        if (statisticsService == null) {
+            return;
+        }
+        try {
+            long mappings = -1;
+            long occupied = 0;
+            long allocated = 0;
+            for (TierStatistics tier : statisticsService.getCacheStatistics(region).getTierStatistics().values()) {
+                mappings = Math.max(mappings, tier.getMappings());
+                occupied += Math.max(0, tier.getOccupiedByteSize());
+                allocated += Math.max(0, tier.getAllocatedByteSize());
+            }
+            if (mappings >= 0) {
+                dto.setEntries(mappings);
+            }
+            dto.setOccupiedBytes(occupied);
+            dto.setAllocatedBytes(allocated);
+        } catch (RuntimeException ex) {
+            log.debug("Статистика уровней кэша {} недоступна: {}", region, ex.getMessage());
+        }
+    }
+
+    private static StatisticsService resolveStatisticsService(CacheManager cacheManager) {
+        try {
+            Field field = cacheManager.getClass().getDeclaredField("statisticsService");
+            field.setAccessible(true);
+            return (StatisticsService) field.get(cacheManager);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.warn("Статистика уровней Ehcache недоступна: {}", ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.itmo.organization.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.itmo.organization.config.CacheWarmupProperties;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.model.Organization;
+
+@Component
+@Slf4j
+public class CacheWarmup implements HealthIndicator {
+
+    private static final List<Class<?>> REFERENCE_ENTITIES = List.of(Location.class, Address.class, Coordinates.class);
+
+    private final CacheRegionService cacheRegionService;
+    private final CacheWarmupProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> loaded = new ConcurrentHashMap<>();
+    private volatile State state = State.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String currentRegion;
+
+    public CacheWarmup(
+            CacheRegionService cacheRegionService,
+            CacheWarmupProperties properties,
+            MeterRegistry meterRegistry) {
+        this.cacheRegionService = cacheRegionService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        if (!properties.isEnabled()) {
+            state = State.DISABLED;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (state != State.PENDING) {
+            return;
+        }
+        startedAt = Instant.now();
+        state = State.RUNNING;
+        Thread thread = new Thread(this::run, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (state) {
+            case DISABLED, COMPLETED -> Health.up();
+            case FAILED -> Health.up().withDetail("failed", true);
+            case PENDING -> Health.outOfService();
+            case RUNNING -> isTimedOut() ? Health.up().withDetail("timedOut", true) : Health.outOfService();
+        };
+        builder.withDetail("state", state);
+        if (currentRegion != null && state == State.RUNNING) {
+            builder.withDetail("region", currentRegion);
+        }
+        if (!loaded.isEmpty()) {
+            builder.withDetail("loaded", Map.copyOf(loaded));
+        }
+        if (startedAt != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            builder.withDetail("elapsedMs", Duration.between(startedAt, end).toMillis());
+        }
+        return builder.build();
+    }
+
+    private void run() {
+        log.info("Прогрев кэша второго уровня запущен");
+        long started = System.nanoTime();
+        boolean failed = false;
+        try {
+            for (Class<?> entity : REFERENCE_ENTITIES) {
+                if (!warm(entity, null)) {
+                    break;
+                }
+            }
+            if (properties.getOrganizations() > 0) {
+                warm(Organization.class, properties.getOrganizations());
+            }
+        } catch (RuntimeException ex) {
+            failed = true;
+            log.error("Прогрев кэша второго уровня завершился с ошибкой", ex);
+        } finally {
+            currentRegion = null;
+            finishedAt = Instant.now();
+            timer("all", failed ? "failure" : isTimedOut() ? "timeout" : "success")
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            state = failed ? State.FAILED : State.COMPLETED;
+        }
+        log.info("Прогрев кэша второго уровня завершён за {} мс: {}",
+                Duration.between(startedAt, finishedAt).toMillis(), loaded);
+    }
+
+    private boolean warm(Class<?> entity, Integer limit) {
+        if (isTimedOut()) {
+            log.warn("Прогрев кэша прерван по таймауту {}, регион {} пропущен", properties.getTimeout(),
+                    entity.getSimpleName());
+            return false;
+        }
+        String region = regionOf(entity);
+        currentRegion = region;
+        long started = System.nanoTime();
+        String outcome = "failure";
+        try {
+            int count = cacheRegionService.warm(region, limit);
+            loaded.put(entity.getSimpleName(), count);
+            Counter.builder("cache.warmup.entities")
+                    .tag("region", region)
+                    .register(meterRegistry)
+                    .increment(count);
+            outcome = "success";
+            return true;
+        } finally {
+            timer(region, outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String region, String outcome) {
+        return Timer.builder("cache.warmup.duration")
+                .description("Длительность прогрева кэша второго уровня")
+                .tag("region", region)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private boolean isTimedOut() {
+        Duration timeout = properties.getTimeout();
+        return startedAt != null && timeout != null && !timeout.isZero() && !timeout.isNegative()
+                && Instant.now().isAfter(startedAt.plus(timeout));
+    }
+
+    private static String regionOf(Class<?> entity) {
+        org.hibernate.annotations.Cache cache = entity.getAnnotation(org.hibernate.annotations.Cache.class);
+        return cache != null && !cache.region().isEmpty() ? cache.region() : entity.getName();
+    }
+
+    private enum State {
+        DISABLED,
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,58 @@
+package ru.itmo.organization.cache;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.ehcache.config.FluentConfigurationBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+public final class HibernateCacheManagerFactory {
+
+    private static final URI CACHE_MANAGER_URI = URI.create("urn:organization:hibernate-l2");
+    private static final String SETTINGS_QUERY =
+            "SELECT region, heap_entries, offheap_megabytes FROM cache_region_setting";
+
+    private HibernateCacheManagerFactory() {
+    }
+
+    public static CacheManager create(URL configuration, DataSource dataSource) {
+        ClassLoader classLoader = HibernateCacheManagerFactory.class.getClassLoader();
+        XmlConfiguration xml = new XmlConfiguration(configuration, classLoader);
+        FluentConfigurationBuilder<?> builder = xml.derive();
+        for (RegionOverride override : loadOverrides(dataSource)) {
+            if (!xml.getCacheConfigurations().containsKey(override.region())) {
+                log.warn("Настройки кэша для неизвестного региона {} пропущены", override.region());
+                continue;
+            }
+            builder = builder.updateCache(override.region(), cache -> cache.updateResourcePools(pools ->
+                    CacheRegionPools.resize(pools, override.heapEntries(), override.offheapMegabytes())));
+            log.info("Регион кэша {}: heap={}, offheap={}MB", override.region(), override.heapEntries(),
+                    override.offheapMegabytes());
+        }
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName(), classLoader);
+        return provider.getCacheManager(CACHE_MANAGER_URI, builder.build());
+    }
+
+    private static List<RegionOverride> loadOverrides(DataSource dataSource) {
+        try {
+            return new JdbcTemplate(dataSource).query(SETTINGS_QUERY, (rs, rowNum) -> new RegionOverride(
+                    rs.getString("region"),
+                    rs.getObject("heap_entries", Long.class),
+                    rs.getObject("offheap_megabytes", Long.class)));
+        } catch (DataAccessException ex) {
+            log.info("Сохранённые настройки кэша не загружены: {}", ex.getMostSpecificCause().getMessage());
+            return List.of();
+        }
+    }
+
+    private record RegionOverride(String region, Long heapEntries, Long offheapMegabytes) {}
+}
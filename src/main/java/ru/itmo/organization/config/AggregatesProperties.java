@@ -0,0 +1,16 @@
+package ru.itmo.organization.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.aggregates")
+public class AggregatesProperties {
+    private boolean enabled = true;
+    private Duration checkInterval = Duration.ofMinutes(5);
+    private Duration maxStaleness = Duration.ofSeconds(5);
+    private int reconcileAttempts = 5;
+}
@@ -1,14 +1,31 @@
 package ru.itmo.organization.config;
 
 import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
 import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
 import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import ru.itmo.organization.cache.HibernateCacheManagerFactory;
 
 @Configuration
 public class CacheConfig {
 
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(DataSource dataSource) throws IOException {
+        return HibernateCacheManagerFactory.create(new ClassPathResource("ehcache.xml").getURL(), dataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
     @Bean
     public Statistics hibernateStatistics(EntityManagerFactory entityManagerFactory) {
         SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
@@ -1,5 +1,6 @@
 package ru.itmo.organization.config;
 
+import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -8,5 +9,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @Setter
 @ConfigurationProperties(prefix = "app.cache.statistics")
 public class CacheSettingsProperties {
-    private boolean loggingEnabled = false;
+    private boolean samplingEnabled = true;
+    private boolean reportingEnabled = false;
+    private Duration sampleInterval = Duration.ofSeconds(30);
 }
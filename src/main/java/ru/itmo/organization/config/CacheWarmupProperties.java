@@ -0,0 +1,16 @@
+package ru.itmo.organization.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache.warmup")
+public class CacheWarmupProperties {
+    private boolean enabled = true;
+    private int organizations = 5000;
+    private int batchSize = 500;
+    private Duration timeout = Duration.ofMinutes(2);
+}
@@ -0,0 +1,20 @@
+package ru.itmo.organization.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.imports")
+public class ImportProperties {
+    private int chunkSize = 500;
+    private boolean bulkOrganizations = true;
+    private int concurrency = 2;
+    private int queueCapacity = 20;
+    private int parallelWorkers = 1;
+    private String nodeId;
+    private Duration leaseDuration = Duration.ofMinutes(2);
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,16 @@
+package ru.itmo.organization.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache.results")
+public class ResultCacheProperties {
+    private boolean enabled = false;
+    private Duration ttl = Duration.ofSeconds(5);
+    private int pages = 3;
+    private int maxPageEntries = 256;
+}
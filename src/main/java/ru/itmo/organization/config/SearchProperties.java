@@ -0,0 +1,32 @@
+package ru.itmo.organization.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+    private boolean trigramIndexes = true;
+    private InMemoryIndex inMemoryIndex = new InMemoryIndex();
+    private CountCache countCache = new CountCache();
+
+    @Getter
+    @Setter
+    public static class InMemoryIndex {
+        private boolean enabled = false;
+        private int maxResolvedIds = 10000;
+        private int rebuildFetchSize = 1000;
+        private int maxPendingChanges = 10000;
+        private Duration refreshInterval = Duration.ZERO;
+    }
+
+    @Getter
+    @Setter
+    public static class CountCache {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+}
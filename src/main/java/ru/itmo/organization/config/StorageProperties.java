@@ -0,0 +1,20 @@
+package ru.itmo.organization.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+    private String backend = "minio";
+    private String compression = "none";
+    private Local local = new Local();
+
+    @Getter
+    @Setter
+    public static class Local {
+        private String root = "./data/storage";
+    }
+}
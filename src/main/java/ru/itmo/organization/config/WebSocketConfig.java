@@ -1,18 +1,42 @@
 package ru.itmo.organization.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketProperties properties;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        WebSocketProperties.Broker broker = properties.getBroker();
+        if (broker.isRelay()) {
+            WebSocketProperties.Relay relay = broker.getRelay();
+            StompBrokerRelayRegistration registration = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(relay.getSystemHeartbeatSendInterval().toMillis())
+                    .setSystemHeartbeatReceiveInterval(relay.getSystemHeartbeatReceiveInterval().toMillis());
+            if (relay.getVirtualHost() != null && !relay.getVirtualHost().isBlank()) {
+                registration.setVirtualHost(relay.getVirtualHost());
+            }
+        } else if ("simple".equalsIgnoreCase(broker.getMode())) {
+            config.enableSimpleBroker("/topic");
+        } else {
+            throw new IllegalArgumentException("Неизвестный режим брокера WebSocket: " + broker.getMode());
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -0,0 +1,40 @@
+package ru.itmo.organization.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketProperties {
+    private Duration coalesceWindow = Duration.ofMillis(100);
+    private int maxIdsPerMessage = 1000;
+    private Broker broker = new Broker();
+
+    @Getter
+    @Setter
+    public static class Broker {
+        private String mode = "simple";
+        private Relay relay = new Relay();
+
+        public boolean isRelay() {
+            return "relay".equalsIgnoreCase(mode);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private Duration systemHeartbeatSendInterval = Duration.ofSeconds(10);
+        private Duration systemHeartbeatReceiveInterval = Duration.ofSeconds(10);
+    }
+}
@@ -1,11 +1,18 @@
 package ru.itmo.organization.controller;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.itmo.organization.cache.CacheMetricsSampler;
+import ru.itmo.organization.cache.CacheRegionService;
 import ru.itmo.organization.config.CacheSettingsProperties;
+import ru.itmo.organization.dto.CacheRegionDto;
+import ru.itmo.organization.dto.CacheRegionSettingsDto;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -14,17 +21,70 @@ import java.util.Map;
 public class CacheSettingsController {
 
     private final CacheSettingsProperties properties;
+    private final CacheMetricsSampler sampler;
+    private final CacheRegionService regionService;
 
-    @PostMapping("/statistics/logging")
+    @PostMapping("/statistics/sampling")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> toggleLogging(@RequestParam boolean enabled) {
-        properties.setLoggingEnabled(enabled);
-        return ResponseEntity.ok(Map.of("loggingEnabled", properties.isLoggingEnabled()));
+    public ResponseEntity<Map<String, Object>> toggleSampling(@RequestParam boolean enabled) {
+        properties.setSamplingEnabled(enabled);
+        return ResponseEntity.ok(settings());
     }
 
-    @GetMapping("/statistics/logging")
+    @PostMapping("/statistics/reporting")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> toggleReporting(@RequestParam boolean enabled) {
+        properties.setReportingEnabled(enabled);
+        return ResponseEntity.ok(settings());
+    }
+
+    @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> status() {
-        return ResponseEntity.ok(Map.of("loggingEnabled", properties.isLoggingEnabled()));
+        Map<String, Object> body = settings();
+        body.put("lastSampleAt", sampler.lastSampleTime());
+        body.put("regions", sampler.lastSnapshot());
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/regions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheRegionDto>> regions() {
+        return ResponseEntity.ok(regionService.findAll());
+    }
+
+    @GetMapping("/regions/{region}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheRegionDto> region(@PathVariable String region) {
+        return ResponseEntity.ok(regionService.findByRegion(region));
+    }
+
+    @PutMapping("/regions/{region}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheRegionDto> resize(@PathVariable String region,
+            @Valid @RequestBody CacheRegionSettingsDto settings) {
+        return ResponseEntity.ok(regionService.resize(region, settings));
+    }
+
+    @PostMapping("/regions/{region}/warm")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> warm(@PathVariable String region,
+            @RequestParam(required = false) Integer limit) {
+        int loaded = regionService.warm(region, limit);
+        return ResponseEntity.ok(Map.of("region", region, "loaded", loaded));
+    }
+
+    @DeleteMapping("/regions/{region}/entries")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheRegionDto> clear(@PathVariable String region) {
+        return ResponseEntity.ok(regionService.clear(region));
+    }
+
+    private Map<String, Object> settings() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("samplingEnabled", properties.isSamplingEnabled());
+        body.put("reportingEnabled", properties.isReportingEnabled());
+        body.put("sampleInterval", properties.getSampleInterval().toString());
+        return body;
     }
 }
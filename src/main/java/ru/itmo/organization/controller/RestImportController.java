@@ -1,22 +1,30 @@
 package ru.itmo.organization.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.itmo.organization.dto.ImportOperationDto;
 import ru.itmo.organization.exception.ResourceNotFoundException;
+import ru.itmo.organization.model.ImportCommitMode;
 import ru.itmo.organization.model.ImportOperation;
 import ru.itmo.organization.service.ImportService;
+import ru.itmo.organization.service.storage.StorageEncoding;
+import ru.itmo.organization.service.storage.StorageObjectInfo;
 import ru.itmo.organization.service.storage.StorageService;
 import ru.itmo.organization.service.storage.StorageStream;
 
@@ -32,9 +40,29 @@ public class RestImportController {
     public ResponseEntity<ImportOperationDto> importObjects(
             @RequestParam("file") MultipartFile file,
             @RequestParam(name = "objectType", defaultValue = "ORGANIZATION") ru.itmo.organization.model.ImportObjectType objectType,
+            @RequestParam(name = "commitMode", defaultValue = "ATOMIC") ImportCommitMode commitMode,
             Authentication authentication) {
 
-        ImportOperationDto dto = importService.importObjects(file, objectType, authentication);
+        ImportOperationDto dto = importService.importObjects(file, objectType, commitMode, authentication);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(dto);
+    }
+
+    @PostMapping(path = "/stream", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportOperationDto> importStream(
+            HttpServletRequest request,
+            @RequestParam(name = "objectType", defaultValue = "ORGANIZATION") ru.itmo.organization.model.ImportObjectType objectType,
+            @RequestParam(name = "commitMode", defaultValue = "ATOMIC") ImportCommitMode commitMode,
+            @RequestParam(name = "fileName", required = false) String fileName,
+            Authentication authentication) throws IOException {
+
+        ImportOperationDto dto = importService.importStream(
+                request.getInputStream(),
+                fileName,
+                request.getContentType(),
+                request.getContentLengthLong(),
+                objectType,
+                commitMode,
+                authentication);
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(dto);
     }
 
@@ -52,30 +80,155 @@ public class RestImportController {
     }
 
     @GetMapping("/{id}/file")
-    public ResponseEntity<InputStreamResource> downloadFile(
+    public ResponseEntity<StreamingResponseBody> downloadFile(
             @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(name = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest,
             Authentication authentication) {
         ImportOperation operation = importService.getOperationEntity(id, authentication);
         if (operation.getStorageBucket() == null || operation.getStorageObject() == null) {
             throw new ResourceNotFoundException("Файл для операции импорта не найден");
         }
-        StorageStream stream = storageService.load(
-                operation.getStorageBucket(),
-                operation.getStorageObject(),
-                operation.getStorageFileName(),
-                operation.getStorageContentType());
+        StorageObjectInfo info = storageService.stat(operation.getStorageBucket(), operation.getStorageObject());
+        long lastModified = info.lastModified() == null ? -1 : info.lastModified().toEpochMilli();
+        StorageEncoding encoding = StorageEncoding.from(operation.getStorageEncoding());
+        boolean decode = encoding != StorageEncoding.IDENTITY && !acceptsEncoding(acceptEncoding, encoding);
+        String etag = info.etag() == null || !decode ? info.etag() : info.etag() + "-identity";
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentDispositionFormData("attachment", operation.getStorageFileName());
         headers.setContentType(MediaType.parseMediaType(
                 operation.getStorageContentType() == null ? "application/octet-stream" : operation.getStorageContentType()));
-        if (operation.getStorageSize() != null) {
-            headers.setContentLength(operation.getStorageSize());
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        if (encoding != StorageEncoding.IDENTITY) {
+            headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (decode) {
+            headers.set(HttpHeaders.ACCEPT_RANGES, "none");
+            StorageStream decoded = storageService.load(
+                    operation.getStorageBucket(),
+                    operation.getStorageObject(),
+                    operation.getStorageFileName(),
+                    operation.getStorageContentType(),
+                    encoding);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(output -> {
+                        try (InputStream input = decoded.inputStream()) {
+                            input.transferTo(output);
+                        }
+                    });
+        }
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (encoding != StorageEncoding.IDENTITY) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
         }
 
-        return ResponseEntity.ok()
+        long size = info.size();
+        HttpRange range = requestedRange(rangeHeader, ifRange, etag, lastModified);
+        long offset = 0;
+        long length = size;
+        HttpStatus status = HttpStatus.OK;
+        if (range != null) {
+            try {
+                offset = range.getRangeStart(size);
+                length = range.getRangeEnd(size) - offset + 1;
+            } catch (IllegalArgumentException ex) {
+                length = 0;
+            }
+            if (offset >= size || length <= 0) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + (offset + length - 1) + "/" + size);
+        }
+        headers.setContentLength(length);
+
+        StorageStream stream = storageService.load(
+                operation.getStorageBucket(),
+                operation.getStorageObject(),
+                operation.getStorageFileName(),
+                operation.getStorageContentType(),
+                offset,
+                range == null ? -1 : length);
+
+        return ResponseEntity.status(status)
                 .headers(headers)
-                .body(new InputStreamResource(stream.inputStream()));
+                .body(output -> {
+                    try (InputStream input = stream.inputStream()) {
+                        input.transferTo(output);
+                    }
+                });
+    }
+
+    private HttpRange requestedRange(String rangeHeader, String ifRange, String etag, long lastModified) {
+        if (rangeHeader == null || rangeHeader.isBlank() || !rangeMatches(ifRange, etag, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private boolean rangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"")) {
+            return etag != null && value.equals("\"" + etag + "\"");
+        }
+        if (value.startsWith("W/")) {
+            return false;
+        }
+        HttpHeaders condition = new HttpHeaders();
+        condition.set(HttpHeaders.IF_RANGE, value);
+        try {
+            long date = condition.getFirstDate(HttpHeaders.IF_RANGE);
+            return lastModified >= 0 && lastModified / 1000 == date / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private boolean acceptsEncoding(String acceptEncoding, StorageEncoding encoding) {
+        if (acceptEncoding == null || encoding.token() == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase(encoding.token()) && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim().replace(" ", "");
+                if (parameter.matches("[qQ]=0(\\.0{0,3})?")) {
+                    rejected = true;
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @GetMapping("/template")
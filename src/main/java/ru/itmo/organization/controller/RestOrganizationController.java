@@ -6,17 +6,26 @@ import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import ru.itmo.organization.dto.OrganizationDto;
 import ru.itmo.organization.model.OrganizationType;
+import ru.itmo.organization.repository.CountStrategy;
+import ru.itmo.organization.repository.KeysetSlice;
 import ru.itmo.organization.service.AddressService;
 import ru.itmo.organization.service.CoordinatesService;
+import ru.itmo.organization.service.ExportFormat;
 import ru.itmo.organization.service.LocationService;
+import ru.itmo.organization.service.OrganizationExportService;
 import ru.itmo.organization.service.OrganizationService;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/organizations")
@@ -27,20 +36,47 @@ public class RestOrganizationController {
     private final LocationService locationService;
     private final CoordinatesService coordinatesService;
     private final AddressService addressService;
+    private final OrganizationExportService organizationExportService;
 
     @GetMapping
-    public ResponseEntity<Page<OrganizationDto>> listOrganizations(
+    public ResponseEntity<?> listOrganizations(
             @PageableDefault(size = 10, sort = "id") Pageable pageable,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String searchField) {
+            @RequestParam(required = false) String searchField,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(name = "count", required = false) String count) {
 
+        if (after != null || "keyset".equalsIgnoreCase(pagination)) {
+            KeysetSlice<OrganizationDto> slice = organizationService.findSlice(
+                    search, searchField, pageable.getSort(), after, pageable.getPageSize());
+            return ResponseEntity.ok(slice);
+        }
+
+        CountStrategy countStrategy = CountStrategy.from(count);
         Page<OrganizationDto> organizations = (search != null && !search.isBlank())
-                ? organizationService.findBySearchTerm(search, searchField, pageable)
-                : organizationService.findAll(pageable);
+                ? organizationService.findBySearchTerm(search, searchField, pageable, countStrategy)
+                : organizationService.findAll(pageable, countStrategy);
 
         return ResponseEntity.ok(organizations);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrganizations(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String searchField,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @SortDefault(sort = "id") Sort sort) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = output ->
+                organizationExportService.export(search, searchField, sort, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"organizations." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrganizationDto> getOrganization(@PathVariable Long id) {
         OrganizationDto organization = organizationService.findById(id);
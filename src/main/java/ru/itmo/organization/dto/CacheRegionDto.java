@@ -0,0 +1,37 @@
+package ru.itmo.organization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionDto {
+
+    private String region;
+
+    private Long entries;
+
+    private Long heapEntries;
+
+    private Long offheapMegabytes;
+
+    private Long configuredOffheapMegabytes;
+
+    private boolean restartRequired;
+
+    private Long occupiedBytes;
+
+    private Long allocatedBytes;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRatio;
+
+    private double intervalHitRatio;
+}
@@ -0,0 +1,20 @@
+package ru.itmo.organization.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionSettingsDto {
+
+    @Positive(message = "Размер heap должен быть положительным")
+    private Long heapEntries;
+
+    @Positive(message = "Размер offheap должен быть положительным")
+    private Long offheapMegabytes;
+}
@@ -0,0 +1,22 @@
+package ru.itmo.organization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.itmo.organization.model.ChangeKind;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeItemDto {
+
+    private ChangeKind kind;
+
+    private Long id;
+
+    private Long absorbedId;
+
+    private Object data;
+}
@@ -0,0 +1,25 @@
+package ru.itmo.organization.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.itmo.organization.model.ChangeKind;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeNotificationDto {
+
+    private Map<ChangeKind, Set<Long>> changes;
+
+    private List<ChangeItemDto> items;
+
+    private boolean refresh;
+
+    private int events;
+}
@@ -18,10 +18,17 @@ public class ImportOperationDto {
     private String username;
     private java.time.LocalDateTime startedAt;
     private Integer addedCount;
+    private Integer processedCount;
+    private Integer totalCount;
+    private ru.itmo.organization.model.ImportCommitMode commitMode;
+    private Integer lastCommittedIndex;
+    private Long locationCacheHits;
+    private Long locationCacheMisses;
     private List<OrganizationDto> createdOrganizations;
     private String storageFileName;
     private String storageContentType;
     private Long storageSize;
+    private String storageEncoding;
 
     public static ImportOperationDto fromEntity(ImportOperation operation) {
         ImportOperationDto dto = new ImportOperationDto();
@@ -31,9 +38,16 @@ public class ImportOperationDto {
         dto.setUsername(operation.getUsername());
         dto.setStartedAt(operation.getStartedAt());
         dto.setAddedCount(operation.getAddedCount());
+        dto.setProcessedCount(operation.getProcessedCount());
+        dto.setTotalCount(operation.getTotalCount());
+        dto.setCommitMode(operation.getCommitMode());
+        dto.setLastCommittedIndex(operation.getLastCommittedIndex());
+        dto.setLocationCacheHits(operation.getLocationCacheHits());
+        dto.setLocationCacheMisses(operation.getLocationCacheMisses());
         dto.setStorageFileName(operation.getStorageFileName());
         dto.setStorageContentType(operation.getStorageContentType());
         dto.setStorageSize(operation.getStorageSize());
+        dto.setStorageEncoding(operation.getStorageEncoding());
         return dto;
     }
 
@@ -0,0 +1,28 @@
+package ru.itmo.organization.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "cache_region_setting")
+public class CacheRegionSetting {
+
+    @Id
+    @Column(nullable = false)
+    private String region;
+
+    @Column(name = "heap_entries")
+    private Long heapEntries;
+
+    @Column(name = "offheap_megabytes")
+    private Long offheapMegabytes;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
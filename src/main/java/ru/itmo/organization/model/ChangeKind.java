@@ -0,0 +1,8 @@
+package ru.itmo.organization.model;
+
+public enum ChangeKind {
+    CREATED,
+    UPDATED,
+    DELETED,
+    ABSORBED
+}
@@ -0,0 +1,25 @@
+package ru.itmo.organization.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "import_commit")
+public class ImportCommit {
+
+    @Id
+    @Column(name = "operation_id", nullable = false)
+    private Long operationId;
+
+    @Column(name = "added_count", nullable = false)
+    private Integer addedCount;
+
+    @Column(name = "committed_at", nullable = false)
+    private LocalDateTime committedAt;
+}
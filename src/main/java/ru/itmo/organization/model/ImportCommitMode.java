@@ -0,0 +1,6 @@
+package ru.itmo.organization.model;
+
+public enum ImportCommitMode {
+    ATOMIC,
+    CHUNKED
+}
@@ -0,0 +1,28 @@
+package ru.itmo.organization.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "import_journal", indexes = @Index(name = "idx_import_journal_operation", columnList = "operation_id"))
+public class ImportJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "operation_id", nullable = false)
+    private Long operationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportRecordKind kind;
+
+    @Column(name = "record_ids", nullable = false)
+    private Long[] recordIds;
+}
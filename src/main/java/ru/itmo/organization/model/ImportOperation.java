@@ -36,6 +36,40 @@ public class ImportOperation {
 
     @Column(name = "added_count")
     private Integer addedCount;
+
+    @Column(name = "processed_count")
+    private Integer processedCount;
+
+    @Column(name = "total_count")
+    private Integer totalCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "commit_mode")
+    private ImportCommitMode commitMode;
+
+    @Column(name = "last_committed_index")
+    private Integer lastCommittedIndex;
+
+    @Column(name = "location_cache_hits")
+    private Long locationCacheHits;
+
+    @Column(name = "location_cache_misses")
+    private Long locationCacheMisses;
+
+    @Column(name = "owner_node")
+    private String ownerNode;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "staged_bucket")
+    private String stagedBucket;
+
+    @Column(name = "staged_object")
+    private String stagedObject;
+
+    @Column(name = "staged_final_object")
+    private String stagedFinalObject;
     
     @Column(name = "storage_bucket")
     private String storageBucket;
@@ -52,18 +86,42 @@ public class ImportOperation {
     @Column(name = "storage_size")
     private Long storageSize;
 
+    @Column(name = "storage_encoding")
+    private String storageEncoding;
+
     public void markSuccess(int added) {
         this.status = ImportStatus.SUCCESS;
         this.addedCount = added;
+        this.processedCount = added;
+        this.stagedBucket = null;
+        this.stagedObject = null;
+        this.stagedFinalObject = null;
+    }
+
+    public boolean isOwnedBy(String node) {
+        return node != null && node.equals(ownerNode);
+    }
+
+    public boolean isDataCommitted() {
+        return totalCount != null && totalCount > 0
+                && lastCommittedIndex != null && lastCommittedIndex >= totalCount;
+    }
+
+    public boolean isChunked() {
+        return commitMode == ImportCommitMode.CHUNKED;
     }
 
     public void markFailed(String message) {
         this.status = ImportStatus.FAILED;
-        this.addedCount = null;
+        this.addedCount = isChunked() ? lastCommittedIndex : null;
+        this.stagedBucket = null;
+        this.stagedObject = null;
+        this.stagedFinalObject = null;
         this.storageBucket = null;
         this.storageObject = null;
         this.storageFileName = null;
         this.storageContentType = null;
         this.storageSize = null;
+        this.storageEncoding = null;
     }
 }
@@ -0,0 +1,9 @@
+package ru.itmo.organization.model;
+
+public enum ImportRecordKind {
+    ORGANIZATION,
+    COORDINATES,
+    ADDRESS,
+    LOCATION,
+    TOWN
+}
@@ -13,7 +13,14 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "organization")
+@Table(name = "organization", indexes = {
+        @Index(name = "idx_organization_name_id", columnList = "name, id"),
+        @Index(name = "idx_organization_full_name_id", columnList = "full_name, id"),
+        @Index(name = "idx_organization_employees_count_id", columnList = "employees_count, id"),
+        @Index(name = "idx_organization_rating_id", columnList = "rating, id"),
+        @Index(name = "idx_organization_type_id", columnList = "type, id"),
+        @Index(name = "idx_organization_annual_turnover_id", columnList = "annual_turnover, id")
+})
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ru.itmo.organization.model.Organization")
 public class Organization {
     
@@ -81,22 +81,23 @@ public class AddressRepository {
         String jpql = "SELECT DISTINCT a FROM Address a LEFT JOIN FETCH a.town WHERE ";
         String countJpql = "SELECT COUNT(DISTINCT a) FROM Address a WHERE ";
         String whereClause = switch (searchField) {
-            case "zipCode" -> "LOWER(a.zipCode) LIKE LOWER(:search)";
-            case "town.name" -> "LOWER(a.town.name) LIKE LOWER(:search)";
+            case "zipCode" -> "LOWER(a.zipCode) LIKE :search";
+            case "town.name" -> "a.town.id IN (SELECT l.id FROM Location l WHERE LOWER(l.name) LIKE :search)";
             default -> "1=1";
         };
         jpql += whereClause;
         countJpql += whereClause;
+        String pattern = LikePatterns.containsIgnoreCase(searchTerm);
 
         List<Address> addresses = entityManager.createQuery(jpql, Address.class)
-                .setParameter("search", "%" + searchTerm + "%")
+                .setParameter("search", pattern)
                 .setHint("org.hibernate.cacheable", true)
                 .setFirstResult((int) pageable.getOffset())
                 .setMaxResults(pageable.getPageSize())
                 .getResultList();
 
         Long total = entityManager.createQuery(countJpql, Long.class)
-                .setParameter("search", "%" + searchTerm + "%")
+                .setParameter("search", pattern)
                 .setHint("org.hibernate.cacheable", true)
                 .getSingleResult();
 
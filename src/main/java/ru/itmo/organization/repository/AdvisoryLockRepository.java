@@ -0,0 +1,49 @@
+package ru.itmo.organization.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class AdvisoryLockRepository {
+
+    public static final String ORGANIZATION_FULL_NAME = "organization.full_name";
+    public static final String LOCATION_NAME = "location.name";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void lock(String namespace, Collection<String> values) {
+        Long[] keys = values.stream()
+                .filter(Objects::nonNull)
+                .map(value -> key(namespace, value))
+                .distinct()
+                .sorted()
+                .toArray(Long[]::new);
+        if (keys.length == 0) {
+            return;
+        }
+        jdbcTemplate.query(
+                "SELECT pg_advisory_xact_lock(k.key) FROM unnest(?::bigint[]) WITH ORDINALITY AS k(key, position) "
+                        + "ORDER BY k.position",
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", keys)),
+                row -> {});
+    }
+
+    public static long key(String namespace, String value) {
+        long hash = FNV_OFFSET;
+        String normalized = namespace + ':' + value.trim().toLowerCase(Locale.ROOT);
+        for (byte b : normalized.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.itmo.organization.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Repository;
+import ru.itmo.organization.model.CacheRegionSetting;
+
+@Repository
+public class CacheRegionSettingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<CacheRegionSetting> findAll() {
+        return entityManager.createQuery("SELECT s FROM CacheRegionSetting s", CacheRegionSetting.class)
+                .getResultList();
+    }
+
+    public Optional<CacheRegionSetting> findByRegion(String region) {
+        return Optional.ofNullable(entityManager.find(CacheRegionSetting.class, region));
+    }
+
+    public CacheRegionSetting save(CacheRegionSetting setting) {
+        return entityManager.merge(setting);
+    }
+}
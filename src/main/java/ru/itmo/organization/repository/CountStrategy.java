@@ -0,0 +1,20 @@
+package ru.itmo.organization.repository;
+
+import java.util.Locale;
+
+public enum CountStrategy {
+    EXACT,
+    ESTIMATED,
+    CACHED;
+
+    public static CountStrategy from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Неизвестная стратегия подсчета: " + value);
+        }
+    }
+}
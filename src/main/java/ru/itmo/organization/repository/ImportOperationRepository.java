@@ -1,11 +1,18 @@
 package ru.itmo.organization.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.LockOptions;
 import org.springframework.stereotype.Repository;
+import ru.itmo.organization.model.ImportCommit;
+import ru.itmo.organization.model.ImportJournalEntry;
 import ru.itmo.organization.model.ImportOperation;
+import ru.itmo.organization.model.ImportStatus;
 
 @Repository
 public class ImportOperationRepository {
@@ -25,6 +32,38 @@ public class ImportOperationRepository {
         return Optional.ofNullable(entityManager.find(ImportOperation.class, id));
     }
 
+    public void saveCommit(ImportCommit commit) {
+        entityManager.persist(commit);
+    }
+
+    public Optional<ImportCommit> findCommit(Long operationId) {
+        return Optional.ofNullable(entityManager.find(ImportCommit.class, operationId));
+    }
+
+    public void deleteCommit(Long operationId) {
+        entityManager.createQuery("DELETE FROM ImportCommit c WHERE c.operationId = :operationId")
+                .setParameter("operationId", operationId)
+                .executeUpdate();
+    }
+
+    public void saveJournalEntry(ImportJournalEntry entry) {
+        entityManager.persist(entry);
+    }
+
+    public List<ImportJournalEntry> findJournal(Long operationId) {
+        return entityManager.createQuery(
+                        "SELECT j FROM ImportJournalEntry j WHERE j.operationId = :operationId ORDER BY j.id",
+                        ImportJournalEntry.class)
+                .setParameter("operationId", operationId)
+                .getResultList();
+    }
+
+    public void deleteJournal(Long operationId) {
+        entityManager.createQuery("DELETE FROM ImportJournalEntry j WHERE j.operationId = :operationId")
+                .setParameter("operationId", operationId)
+                .executeUpdate();
+    }
+
     public List<ImportOperation> findAll() {
         return entityManager.createQuery(
                         "SELECT o FROM ImportOperation o ORDER BY o.startedAt DESC",
@@ -41,4 +80,40 @@ public class ImportOperationRepository {
                 .setHint("org.hibernate.cacheable", true)
                 .getResultList();
     }
+
+    public List<ImportOperation> findAllInProgress() {
+        return entityManager.createQuery(
+                        "SELECT o FROM ImportOperation o WHERE o.status = :status ORDER BY o.startedAt",
+                        ImportOperation.class)
+                .setParameter("status", ImportStatus.IN_PROGRESS)
+                .getResultList();
+    }
+
+    public List<ImportOperation> lockReclaimable(String node, boolean includeOwn, LocalDateTime now, int limit) {
+        return entityManager.createQuery(
+                        "SELECT o FROM ImportOperation o WHERE o.status = :status"
+                                + " AND (o.leaseExpiresAt IS NULL OR o.leaseExpiresAt < :now"
+                                + " OR (:includeOwn = true AND o.ownerNode = :node))"
+                                + " ORDER BY o.startedAt",
+                        ImportOperation.class)
+                .setParameter("status", ImportStatus.IN_PROGRESS)
+                .setParameter("now", now)
+                .setParameter("includeOwn", includeOwn)
+                .setParameter("node", node)
+                .setMaxResults(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                .getResultList();
+    }
+
+    public int renewLeases(Collection<Long> ids, String node, LocalDateTime expiresAt) {
+        return entityManager.createQuery(
+                        "UPDATE ImportOperation o SET o.leaseExpiresAt = :expiresAt"
+                                + " WHERE o.id IN :ids AND o.ownerNode = :node AND o.status = :status")
+                .setParameter("expiresAt", expiresAt)
+                .setParameter("ids", ids)
+                .setParameter("node", node)
+                .setParameter("status", ImportStatus.IN_PROGRESS)
+                .executeUpdate();
+    }
 }
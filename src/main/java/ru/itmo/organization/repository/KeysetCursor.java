@@ -0,0 +1,79 @@
+package ru.itmo.organization.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+final class KeysetCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String INVALID_CURSOR_MESSAGE = "Некорректный курсор пагинации";
+
+    private KeysetCursor() {
+    }
+
+    static String encode(String signature, List<Object> values) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("s", signature);
+        node.set("v", MAPPER.valueToTree(values));
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(node);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Не удалось сформировать курсор пагинации", ex);
+        }
+    }
+
+    static List<Object> decode(String token, String signature, List<Class<?>> types) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, ex);
+        }
+        if (node == null || !signature.equals(node.path("s").asText())) {
+            throw new IllegalArgumentException("Курсор пагинации не соответствует параметрам сортировки");
+        }
+        JsonNode rawValues = node.path("v");
+        if (!(rawValues instanceof ArrayNode array) || array.size() != types.size()) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+        }
+        List<Object> values = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            values.add(convert(array.get(i), types.get(i)));
+        }
+        return values;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(JsonNode value, Class<?> type) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        try {
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value.asText());
+            }
+            if (type == Long.class || type == long.class) {
+                return value.asLong();
+            }
+            if (type == Integer.class || type == int.class) {
+                return value.asInt();
+            }
+            if (type == Double.class || type == double.class) {
+                return value.asDouble();
+            }
+            if (type == String.class) {
+                return value.asText();
+            }
+            return MAPPER.treeToValue(value, type);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, ex);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.itmo.organization.repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetSlice<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(content.stream().<U>map(converter).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.itmo.organization.repository;
+
+import java.util.Locale;
+
+final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    static String containsIgnoreCase(String term) {
+        String lowered = term.trim().toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lowered.length() + 2).append('%');
+        for (int i = 0; i < lowered.length(); i++) {
+            char c = lowered.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -91,21 +91,22 @@ public class LocationRepository {
         String jpql = "SELECT l FROM Location l WHERE ";
         String countJpql = "SELECT COUNT(l) FROM Location l WHERE ";
         String whereClause = switch (searchField) {
-            case "name" -> "LOWER(l.name) LIKE LOWER(:search)";
+            case "name" -> "LOWER(l.name) LIKE :search";
             default -> "1=1";
         };
         jpql += whereClause + " ORDER BY l." + pageable.getSort().toString().replace(":", " ");
         countJpql += whereClause;
+        String pattern = LikePatterns.containsIgnoreCase(searchTerm);
 
         List<Location> locations = entityManager.createQuery(jpql, Location.class)
-                .setParameter("search", "%" + searchTerm + "%")
+                .setParameter("search", pattern)
                 .setHint("org.hibernate.cacheable", true)
                 .setFirstResult((int) pageable.getOffset())
                 .setMaxResults(pageable.getPageSize())
                 .getResultList();
 
         Long total = entityManager.createQuery(countJpql, Long.class)
-                .setParameter("search", "%" + searchTerm + "%")
+                .setParameter("search", pattern)
                 .setHint("org.hibernate.cacheable", true)
                 .getSingleResult();
 
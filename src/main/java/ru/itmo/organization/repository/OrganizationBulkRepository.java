@@ -0,0 +1,104 @@
+package ru.itmo.organization.repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrganizationBulkRepository {
+
+    private static final String INSERT_COORDINATES =
+            "INSERT INTO coordinates (id, x, y) VALUES (?, ?, ?)";
+    private static final String INSERT_LOCATION =
+            "INSERT INTO location (id, x, y, z, name) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ADDRESS =
+            "INSERT INTO address (id, zip_code, town_id) VALUES (?, ?, ?)";
+    private static final String INSERT_ORGANIZATION =
+            "INSERT INTO organization (id, name, coordinates_id, creation_date, official_address_id, "
+                    + "annual_turnover, employees_count, rating, full_name, type, postal_address_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public long[] allocateCoordinatesIds(int count) {
+        return allocateIds("coordinates", count);
+    }
+
+    public long[] allocateLocationIds(int count) {
+        return allocateIds("location", count);
+    }
+
+    public long[] allocateAddressIds(int count) {
+        return allocateIds("address", count);
+    }
+
+    public long[] allocateOrganizationIds(int count) {
+        return allocateIds("organization", count);
+    }
+
+    public Set<String> findExistingFullNames(Collection<String> lowerCaseFullNames) {
+        if (lowerCaseFullNames.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT LOWER(full_name) FROM organization WHERE LOWER(full_name) IN (:names)",
+                Map.of("names", lowerCaseFullNames),
+                String.class));
+    }
+
+    public Map<String, Long> findLocationIdsByNames(Collection<String> lowerCaseNames) {
+        if (lowerCaseNames.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT LOWER(name) AS name, MIN(id) AS id FROM location WHERE LOWER(name) IN (:names) "
+                        + "GROUP BY LOWER(name)",
+                Map.of("names", lowerCaseNames),
+                rs -> {
+                    ids.put(rs.getString("name"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public void insertCoordinates(List<Object[]> rows) {
+        batchInsert(INSERT_COORDINATES, rows);
+    }
+
+    public void insertLocations(List<Object[]> rows) {
+        batchInsert(INSERT_LOCATION, rows);
+    }
+
+    public void insertAddresses(List<Object[]> rows) {
+        batchInsert(INSERT_ADDRESS, rows);
+    }
+
+    public void insertOrganizations(List<Object[]> rows) {
+        batchInsert(INSERT_ORGANIZATION, rows);
+    }
+
+    private long[] allocateIds(String table, int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)",
+                Long.class, table, count);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+}
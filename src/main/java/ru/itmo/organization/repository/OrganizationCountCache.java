@@ -0,0 +1,88 @@
+package ru.itmo.organization.repository;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.itmo.organization.config.SearchProperties;
+
+@Component
+public class OrganizationCountCache {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private final SearchProperties.CountCache properties;
+    private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public OrganizationCountCache(SearchProperties properties) {
+        this.properties = properties.getCountCache();
+    }
+
+    public OptionalLong get(String key) {
+        if (!properties.isEnabled()) {
+            return OptionalLong.empty();
+        }
+        Entry entry = counts.get(key);
+        if (entry == null) {
+            return OptionalLong.empty();
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            counts.remove(key, entry);
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(entry.count());
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String key, long count, long expectedGeneration) {
+        Duration ttl = properties.getTtl();
+        if (!properties.isEnabled() || ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        Entry entry = new Entry(count, System.nanoTime() + ttl.toNanos());
+        counts.put(key, entry);
+        if (generation.get() != expectedGeneration) {
+            counts.remove(key, entry);
+        }
+    }
+
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrganizationCountCache.this);
+                    clear();
+                }
+            });
+        }
+    }
+
+    public static String key(String searchTerm, String searchField) {
+        String term = searchTerm == null ? "" : searchTerm.trim().toLowerCase(Locale.ROOT);
+        String field = searchField == null ? "" : searchField.trim().toLowerCase(Locale.ROOT);
+        return field + "|" + term;
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    private record Entry(long count, long expiresAt) {}
+}
@@ -2,31 +2,42 @@ package ru.itmo.organization.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import java.util.stream.Stream;
+import org.hibernate.CacheMode;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 import ru.itmo.organization.model.Address;
 import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
 import ru.itmo.organization.model.Organization;
 import ru.itmo.organization.model.OrganizationType;
+import ru.itmo.organization.search.OrganizationSearchIndex;
+import ru.itmo.organization.search.SearchDocument;
 
 @Repository
 public class OrganizationRepository {
@@ -46,6 +57,17 @@ public class OrganizationRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final OrganizationCountCache countCache;
+    private final OrganizationResultCache resultCache;
+    private final OrganizationSearchIndex searchIndex;
+
+    public OrganizationRepository(OrganizationCountCache countCache, OrganizationResultCache resultCache,
+            OrganizationSearchIndex searchIndex) {
+        this.countCache = countCache;
+        this.resultCache = resultCache;
+        this.searchIndex = searchIndex;
+    }
+
     public Optional<Organization> findById(Long id) {
         return Optional.ofNullable(entityManager.find(Organization.class, id));
     }
@@ -72,12 +94,73 @@ public class OrganizationRepository {
         entityManager.remove(managed);
     }
 
-    public Page<Organization> findAllWithDetails(Pageable pageable) {
-        return queryOrganizations(null, null, pageable);
+    public CountedPage<Organization> findAllWithDetails(Pageable pageable, CountStrategy countStrategy) {
+        return queryOrganizations(null, null, pageable, countStrategy);
     }
 
-    public Page<Organization> search(String searchTerm, String searchField, Pageable pageable) {
-        return queryOrganizations(searchTerm, searchField, pageable);
+    public CountedPage<Organization> search(String searchTerm, String searchField, Pageable pageable,
+            CountStrategy countStrategy) {
+        return queryOrganizations(searchTerm, searchField, pageable, countStrategy);
+    }
+
+    public KeysetSlice<Organization> findSlice(String searchTerm, String searchField, Sort sort, String after,
+            int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> idQuery = cb.createQuery(Object[].class);
+        Root<Organization> root = idQuery.from(Organization.class);
+
+        List<SortKey> keys = resolveSortKeys(sort, root);
+        String signature = keys.stream()
+                .map(key -> key.property() + ":" + (key.descending() ? "DESC" : "ASC"))
+                .collect(Collectors.joining(","));
+
+        Optional<List<Long>> indexedIds = searchIndex.search(searchTerm, searchField);
+        if (indexedIds.isPresent() && indexedIds.get().isEmpty()) {
+            return new KeysetSlice<>(List.of(), size, false, null);
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate searchPredicate = resolveSearchPredicate(searchTerm, searchField, indexedIds, cb, idQuery, root);
+        if (searchPredicate != null) {
+            predicates.add(searchPredicate);
+        }
+        if (after != null && !after.isBlank()) {
+            List<Class<?>> types = keys.stream()
+                    .<Class<?>>map(key -> key.path().getJavaType())
+                    .toList();
+            List<Object> lastValues = KeysetCursor.decode(after.trim(), signature, types);
+            predicates.add(buildSeekPredicate(cb, keys, lastValues));
+        }
+        idQuery.where(predicates.toArray(new Predicate[0]));
+
+        List<Selection<?>> selections = new ArrayList<>(keys.size());
+        List<Order> orders = new ArrayList<>(keys.size());
+        for (SortKey key : keys) {
+            selections.add(key.path());
+            orders.add(key.descending() ? cb.desc(key.path()) : cb.asc(key.path()));
+        }
+        idQuery.multiselect(selections);
+        idQuery.orderBy(orders);
+
+        List<Object[]> rows = entityManager.createQuery(idQuery)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > size;
+        List<Object[]> pageRows = hasNext ? rows.subList(0, size) : rows;
+        if (pageRows.isEmpty()) {
+            return new KeysetSlice<>(List.of(), size, false, null);
+        }
+
+        int idIndex = indexOfId(keys);
+        List<Long> ids = pageRows.stream()
+                .map(row -> (Long) row[idIndex])
+                .collect(Collectors.toList());
+        String nextCursor = hasNext
+                ? KeysetCursor.encode(signature, Arrays.asList(pageRows.get(pageRows.size() - 1)))
+                : null;
+
+        return new KeysetSlice<>(fetchOrganizationsWithDetails(ids), size, hasNext, nextCursor);
     }
 
     public Optional<Organization> findOneOrderedByCoordinatesWithDetails() {
@@ -95,13 +178,72 @@ public class OrganizationRepository {
                 .getResultStream().findFirst();
     }
 
-    public List<Object[]> countByRatingGrouped() {
+    public Stream<Organization> streamWithDetails(String searchTerm, String searchField, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Organization> query = cb.createQuery(Organization.class);
+        Root<Organization> root = query.from(Organization.class);
+        root.fetch("coordinates", JoinType.LEFT);
+        root.fetch("officialAddress", JoinType.LEFT).fetch("town", JoinType.LEFT);
+        root.fetch("postalAddress", JoinType.LEFT).fetch("town", JoinType.LEFT);
+
+        boolean filtered = searchTerm != null && !searchTerm.trim().isEmpty();
+        Optional<List<Long>> indexedIds = filtered ? searchIndex.search(searchTerm, searchField) : Optional.empty();
+        Predicate predicate = resolveSearchPredicate(searchTerm, searchField, indexedIds, cb, query, root);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        applySort(sort, cb, query, root);
+
+        return entityManager.createQuery(query)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .setHint("org.hibernate.cacheMode", CacheMode.IGNORE)
+                .getResultStream();
+    }
+
+    public Stream<SearchDocument> streamSearchDocuments(int fetchSize) {
+        return entityManager.createQuery(
+                "SELECT o.id, o.name, o.fullName, pa.id, pa.zipCode, t.id, t.name FROM Organization o " +
+                        "LEFT JOIN o.postalAddress pa " +
+                        "LEFT JOIN pa.town t",
+                Object[].class)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()
+                .map(row -> new SearchDocument(
+                        (Long) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        (Long) row[3],
+                        (String) row[4],
+                        (Long) row[5],
+                        (String) row[6]));
+    }
+
+    public Map<Integer, Long> countByRatingGrouped() {
         return entityManager.createQuery(
                 "SELECT o.rating, COUNT(o) FROM Organization o " +
                         "WHERE o.rating IS NOT NULL GROUP BY o.rating ORDER BY o.rating",
                 Object[].class)
-                .setHint("org.hibernate.cacheable", true)
-                .getResultList();
+                .getResultStream()
+                .collect(Collectors.toMap(
+                        row -> ((Number) row[0]).intValue(),
+                        row -> ((Number) row[1]).longValue(),
+                        Long::sum,
+                        LinkedHashMap::new));
+    }
+
+    public Map<OrganizationType, Long> countByTypeGrouped() {
+        return entityManager.createQuery(
+                "SELECT o.type, COUNT(o) FROM Organization o GROUP BY o.type",
+                Object[].class)
+                .getResultStream()
+                .collect(Collectors.toMap(
+                        row -> (OrganizationType) row[0],
+                        row -> ((Number) row[1]).longValue(),
+                        Long::sum,
+                        () -> new EnumMap<>(OrganizationType.class)));
     }
 
     public long countByType(OrganizationType type) {
@@ -109,30 +251,99 @@ public class OrganizationRepository {
                 "SELECT COUNT(o) FROM Organization o WHERE o.type = :type",
                 Long.class)
                 .setParameter("type", type)
-                .setHint("org.hibernate.cacheable", true)
                 .getSingleResult();
     }
 
-    private Page<Organization> queryOrganizations(String searchTerm, String searchField, Pageable pageable) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    private CountedPage<Organization> queryOrganizations(String searchTerm, String searchField, Pageable pageable,
+            CountStrategy countStrategy) {
+        boolean filtered = searchTerm != null && !searchTerm.trim().isEmpty();
+        CountStrategy strategy = countStrategy == null ? CountStrategy.EXACT : countStrategy;
+        Optional<List<Long>> indexedIds = filtered ? searchIndex.search(searchTerm, searchField) : Optional.empty();
+        long total;
+        if (indexedIds.isPresent()) {
+            strategy = CountStrategy.EXACT;
+            total = indexedIds.get().size();
+        } else if (strategy == CountStrategy.ESTIMATED && !filtered) {
+            OptionalLong estimate = estimateOrganizationCount();
+            if (estimate.isPresent()) {
+                total = estimate.getAsLong();
+            } else {
+                strategy = CountStrategy.EXACT;
+                total = countOrganizations(searchTerm, searchField);
+            }
+        } else if (strategy == CountStrategy.CACHED) {
+            String key = OrganizationCountCache.key(searchTerm, searchField);
+            OptionalLong cached = countCache.get(key);
+            if (cached.isPresent()) {
+                total = cached.getAsLong();
+            } else {
+                long generation = countCache.generation();
+                total = countOrganizations(searchTerm, searchField);
+                countCache.put(key, total, generation);
+            }
+        } else if (!filtered && resultCache.isEnabled()) {
+            strategy = CountStrategy.EXACT;
+            total = resultCache.totalCount(() -> countOrganizations(null, null, false));
+        } else {
+            strategy = CountStrategy.EXACT;
+            total = countOrganizations(searchTerm, searchField);
+        }
+        if (total == 0 && strategy != CountStrategy.ESTIMATED) {
+            return new CountedPage<>(List.of(), pageable, 0, strategy);
+        }
+
+        List<Long> ids = !filtered && resultCache.isPageCacheable(pageable)
+                ? resultCache.pageIds(pageable, () -> findPageIds(null, null, indexedIds, pageable, false))
+                : findPageIds(searchTerm, searchField, indexedIds, pageable, true);
+
+        if (ids.isEmpty()) {
+            return new CountedPage<>(List.of(), pageable, total, strategy);
+        }
+
+        List<Organization> content = fetchOrganizationsWithDetails(ids);
+        return new CountedPage<>(content, pageable, total, strategy);
+    }
+
+    private List<Long> findPageIds(String searchTerm, String searchField, Optional<List<Long>> indexedIds,
+            Pageable pageable, boolean queryCache) {
+        CriteriaQuery<Object[]> idQuery = buildPageQuery(searchTerm, searchField, indexedIds, pageable.getSort());
+        return entityManager.createQuery(idQuery)
+                .setHint("org.hibernate.cacheable", queryCache)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toList());
+    }
+
+    private long countOrganizations(String searchTerm, String searchField) {
+        return countOrganizations(searchTerm, searchField, true);
+    }
 
+    private long countOrganizations(String searchTerm, String searchField, boolean queryCache) {
+        return entityManager.createQuery(buildCountQuery(searchTerm, searchField))
+                .setHint("org.hibernate.cacheable", queryCache)
+                .getSingleResult();
+    }
+
+    CriteriaQuery<Long> buildCountQuery(String searchTerm, String searchField) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<Organization> countRoot = countQuery.from(Organization.class);
-        Predicate countPredicate = buildSearchPredicate(searchTerm, searchField, cb, countRoot);
+        Predicate countPredicate = buildSearchPredicate(searchTerm, searchField, cb, countQuery, countRoot);
         if (countPredicate != null) {
             countQuery.where(countPredicate);
         }
         countQuery.select(cb.countDistinct(countRoot));
-        long total = entityManager.createQuery(countQuery)
-                .setHint("org.hibernate.cacheable", true)
-                .getSingleResult();
-        if (total == 0) {
-            return new PageImpl<>(List.of(), pageable, 0);
-        }
+        return countQuery;
+    }
 
+    CriteriaQuery<Object[]> buildPageQuery(String searchTerm, String searchField, Optional<List<Long>> indexedIds,
+            Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Object[]> idQuery = cb.createQuery(Object[].class);
         Root<Organization> idRoot = idQuery.from(Organization.class);
-        Predicate idPredicate = buildSearchPredicate(searchTerm, searchField, cb, idRoot);
+        Predicate idPredicate = resolveSearchPredicate(searchTerm, searchField, indexedIds, cb, idQuery, idRoot);
         if (idPredicate != null) {
             idQuery.where(idPredicate);
         }
@@ -140,7 +351,6 @@ public class OrganizationRepository {
         List<Path<?>> selectPaths = new ArrayList<>();
         selectPaths.add(idRoot.get("id"));
         
-        Sort sort = pageable.getSort();
         if (sort != null && !sort.isUnsorted()) {
             for (Sort.Order sortOrder : sort) {
                 Path<?> sortPath = resolveSortPath(sortOrder.getProperty(), idRoot);
@@ -151,51 +361,71 @@ public class OrganizationRepository {
         }
         
         idQuery.multiselect(selectPaths.toArray(new Path[0]));
-        applySort(pageable.getSort(), cb, idQuery, idRoot);
-
-        List<Object[]> results = entityManager.createQuery(idQuery)
-                .setHint("org.hibernate.cacheable", true)
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
-                .getResultList();
-        
-        List<Long> ids = results.stream()
-                .map(row -> (Long) row[0])
-                .collect(Collectors.toList());
+        applySort(sort, cb, idQuery, idRoot);
+        return idQuery;
+    }
 
-        if (ids.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, total);
+    private OptionalLong estimateOrganizationCount() {
+        Object estimate = entityManager.createNativeQuery(
+                "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass('organization')")
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+        if (estimate instanceof Number number && number.longValue() >= 0) {
+            return OptionalLong.of(number.longValue());
         }
+        return OptionalLong.empty();
+    }
 
-        List<Organization> content = fetchOrganizationsWithDetails(ids);
-        return new PageImpl<>(content, pageable, total);
+    private Predicate resolveSearchPredicate(String searchTerm, String searchField, Optional<List<Long>> indexedIds,
+            CriteriaBuilder cb, AbstractQuery<?> query, Root<Organization> root) {
+        if (indexedIds.isPresent()) {
+            return root.get("id").in(indexedIds.get());
+        }
+        return buildSearchPredicate(searchTerm, searchField, cb, query, root);
     }
 
     private Predicate buildSearchPredicate(String rawTerm, String rawField, CriteriaBuilder cb,
-            Root<Organization> root) {
+            AbstractQuery<?> query, Root<Organization> root) {
         if (rawTerm == null || rawTerm.trim().isEmpty()) {
             return null;
         }
 
-        String term = rawTerm.trim().toLowerCase(Locale.ROOT);
-        String likePattern = "%" + term + "%";
+        String likePattern = LikePatterns.containsIgnoreCase(rawTerm);
         String field = rawField == null ? "" : rawField.trim().toLowerCase(Locale.ROOT);
 
-        Join<Organization, ?> postalJoin = root.join("postalAddress", JoinType.LEFT);
-        Join<?, ?> postalTownJoin = postalJoin.join("town", JoinType.LEFT);
-
-        Map<String, Predicate> predicateByField = new HashMap<>();
-        predicateByField.put("name", cb.like(cb.lower(root.get("name")), likePattern));
-        predicateByField.put("fullname", cb.like(cb.lower(root.get("fullName")), likePattern));
-        predicateByField.put("postaladdress.zipcode", cb.like(cb.lower(postalJoin.get("zipCode")), likePattern));
-        predicateByField.put("postaladdress.town.name", cb.like(cb.lower(postalTownJoin.get("name")), likePattern));
+        Map<String, Supplier<Predicate>> predicateByField = new LinkedHashMap<>();
+        predicateByField.put("name", () -> cb.like(cb.lower(root.get("name")), likePattern));
+        predicateByField.put("fullname", () -> cb.like(cb.lower(root.get("fullName")), likePattern));
+        predicateByField.put("postaladdress.zipcode", () -> {
+            Subquery<Long> addresses = query.subquery(Long.class);
+            Root<Address> address = addresses.from(Address.class);
+            addresses.select(address.get("id"))
+                    .where(cb.like(cb.lower(address.get("zipCode")), likePattern));
+            return root.get("postalAddress").get("id").in(addresses);
+        });
+        predicateByField.put("postaladdress.town.name", () -> {
+            Subquery<Long> towns = query.subquery(Long.class);
+            Root<Location> town = towns.from(Location.class);
+            towns.select(town.get("id"))
+                    .where(cb.like(cb.lower(town.get("name")), likePattern));
+            Subquery<Long> addresses = query.subquery(Long.class);
+            Root<Address> address = addresses.from(Address.class);
+            addresses.select(address.get("id"))
+                    .where(address.get("town").get("id").in(towns));
+            return root.get("postalAddress").get("id").in(addresses);
+        });
 
         if (!field.isEmpty() && !"all".equals(field)) {
-            Predicate selected = predicateByField.get(field.toLowerCase(Locale.ROOT));
-            return selected != null ? selected : cb.or(predicateByField.values().toArray(new Predicate[0]));
+            Supplier<Predicate> selected = predicateByField.get(field);
+            if (selected != null) {
+                return selected.get();
+            }
         }
 
-        return cb.or(predicateByField.values().toArray(new Predicate[0]));
+        return cb.or(predicateByField.values().stream()
+                .map(Supplier::get)
+                .toArray(Predicate[]::new));
     }
 
     private void applySort(Sort sort, CriteriaBuilder cb, CriteriaQuery<?> query, Root<Organization> root) {
@@ -221,6 +451,64 @@ public class OrganizationRepository {
         query.orderBy(orders);
     }
 
+    private List<SortKey> resolveSortKeys(Sort sort, Root<Organization> root) {
+        List<SortKey> keys = new ArrayList<>();
+        if (sort != null && !sort.isUnsorted()) {
+            for (Sort.Order sortOrder : sort) {
+                String property = sortOrder.getProperty();
+                boolean duplicate = keys.stream().anyMatch(key -> key.property().equals(property));
+                Path<?> path = duplicate ? null : resolveSortPath(property, root);
+                if (path != null) {
+                    keys.add(new SortKey(property, path, sortOrder.isDescending()));
+                }
+            }
+        }
+        if (keys.stream().noneMatch(key -> "id".equals(key.property()))) {
+            keys.add(new SortKey("id", root.get("id"), false));
+        }
+        return keys;
+    }
+
+    private int indexOfId(List<SortKey> keys) {
+        for (int i = 0; i < keys.size(); i++) {
+            if ("id".equals(keys.get(i).property())) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Сортировка не содержит идентификатор");
+    }
+
+    private Predicate buildSeekPredicate(CriteriaBuilder cb, List<SortKey> keys, List<Object> lastValues) {
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Predicate after = seekAfter(cb, keys.get(i), lastValues.get(i));
+            if (after == null) {
+                continue;
+            }
+            List<Predicate> conjunction = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                Path<?> path = keys.get(j).path();
+                Object value = lastValues.get(j);
+                conjunction.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+            }
+            conjunction.add(after);
+            alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+        }
+        return alternatives.isEmpty() ? cb.disjunction() : cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekAfter(CriteriaBuilder cb, SortKey key, Object lastValue) {
+        Expression<Comparable> path = (Expression<Comparable>) key.path();
+        if (key.descending()) {
+            return lastValue == null ? cb.isNotNull(path) : cb.lessThan(path, (Comparable) lastValue);
+        }
+        if (lastValue == null) {
+            return null;
+        }
+        return cb.or(cb.greaterThan(path, (Comparable) lastValue), cb.isNull(path));
+    }
+
     private Path<?> resolveSortPath(String property, Root<Organization> root) {
         Function<Root<Organization>, Path<?>> builder = SORT_PATHS.get(property);
         if (builder == null) {
@@ -229,10 +517,29 @@ public class OrganizationRepository {
         return builder.apply(root);
     }
 
+    private record SortKey(String property, Path<?> path, boolean descending) {}
+
     private List<Organization> fetchOrganizationsWithDetails(List<Long> ids) {
+        List<Organization> fetched = entityManager.createQuery(
+                "SELECT o FROM Organization o " +
+                        "LEFT JOIN FETCH o.coordinates " +
+                        "LEFT JOIN FETCH o.officialAddress oa " +
+                        "LEFT JOIN FETCH oa.town " +
+                        "LEFT JOIN FETCH o.postalAddress pa " +
+                        "LEFT JOIN FETCH pa.town " +
+                        "WHERE o.id IN :ids",
+                Organization.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        Map<Long, Organization> byId = new HashMap<>(fetched.size() * 2);
+        for (Organization organization : fetched) {
+            byId.put(organization.getId(), organization);
+        }
+
         List<Organization> content = new ArrayList<>(ids.size());
         for (Long id : ids) {
-            Organization organization = entityManager.find(Organization.class, id);
+            Organization organization = byId.get(id);
             if (organization != null) {
                 content.add(organization);
             }
@@ -0,0 +1,313 @@
+package ru.itmo.organization.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.itmo.organization.config.ResultCacheProperties;
+import ru.itmo.organization.model.Organization;
+import ru.itmo.organization.model.OrganizationType;
+
+@Component
+public class OrganizationResultCache {
+
+    private static final Set<String> ROOT_PROPERTIES =
+            Set.of("id", "name", "fullName", "employeesCount", "rating", "type", "annualTurnover");
+
+    private final ResultCacheProperties properties;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<PageKey, Expiring<List<Long>>> pages = new ConcurrentHashMap<>();
+    private final Map<String, CacheMetrics> metrics = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private volatile Expiring<Long> totalCount;
+
+    public OrganizationResultCache(ResultCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("cache.results.pages", pages, Map::size)
+                .description("Закэшированные первые страницы списка организаций")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public long totalCount(Supplier<Long> loader) {
+        return cached("total", () -> valueOf(totalCount), loader, loaded -> totalCount = expiring(loaded));
+    }
+
+    public boolean isPageCacheable(Pageable pageable) {
+        return isEnabled() && pageable.getPageNumber() < properties.getPages() && signature(pageable.getSort()) != null;
+    }
+
+    public List<Long> pageIds(Pageable pageable, Supplier<List<Long>> loader) {
+        List<SortProperty> sort = signature(pageable.getSort());
+        PageKey key = new PageKey(sort, pageable.getPageNumber(), pageable.getPageSize());
+        return cached("page", () -> {
+            Expiring<List<Long>> entry = pages.get(key);
+            if (entry != null && entry.isExpired()) {
+                pages.remove(key, entry);
+                return null;
+            }
+            return valueOf(entry);
+        }, () -> List.copyOf(loader.get()), loaded -> {
+            if (pages.size() >= properties.getMaxPageEntries()) {
+                pages.clear();
+            }
+            pages.put(key, expiring(loaded));
+        });
+    }
+
+    public void created() {
+        afterCommit(() -> {
+            adjustTotal(1);
+            pages.entrySet().removeIf(entry -> !entry.getKey().idOnly()
+                    || entry.getKey().descending()
+                    || entry.getValue().value().size() < entry.getKey().size());
+        });
+    }
+
+    public void updated(Snapshot before, Organization organization) {
+        Snapshot after = Snapshot.of(organization);
+        Set<String> changed = before.changedProperties(after);
+        if (changed.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> pages.keySet().removeIf(key -> key.sort().stream()
+                .anyMatch(order -> changed.contains(order.property()))));
+    }
+
+    public void deleted(Snapshot snapshot) {
+        afterCommit(() -> {
+            adjustTotal(-1);
+            pages.entrySet().removeIf(entry -> entry.getKey().affectedByRemoval(snapshot.id(), entry.getValue()));
+        });
+    }
+
+    public void invalidate() {
+        afterCommit(this::clear);
+    }
+
+    private <T> T cached(String name, Supplier<T> current, Supplier<T> loader, Consumer<T> store) {
+        CacheMetrics cacheMetrics = metrics.computeIfAbsent(name, CacheMetrics::new);
+        T value = current.get();
+        if (value != null) {
+            cacheMetrics.hits.increment();
+            return value;
+        }
+        cacheMetrics.misses.increment();
+        long expectedGeneration = generation.get();
+        boolean stable = inFlight.get() == 0;
+        T loaded = loader.get();
+        synchronized (this) {
+            if (stable && inFlight.get() == 0 && generation.get() == expectedGeneration) {
+                store.accept(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(change));
+            return;
+        }
+        Object resource = TransactionSynchronizationManager.getResource(this);
+        if (resource instanceof PendingChanges pending) {
+            pending.changes.add(change);
+            return;
+        }
+        PendingChanges pending = new PendingChanges();
+        pending.changes.add(change);
+        inFlight.incrementAndGet();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrganizationResultCache.this);
+                synchronized (OrganizationResultCache.this) {
+                    try {
+                        if (status == STATUS_COMMITTED) {
+                            apply(pending.changes);
+                        } else {
+                            generation.incrementAndGet();
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                }
+            }
+        });
+    }
+
+    private synchronized void apply(List<Runnable> changes) {
+        try {
+            changes.forEach(Runnable::run);
+        } catch (RuntimeException ex) {
+            clear();
+            throw ex;
+        } finally {
+            generation.incrementAndGet();
+        }
+    }
+
+    private synchronized void clear() {
+        totalCount = null;
+        pages.clear();
+    }
+
+    private void adjustTotal(long delta) {
+        Expiring<Long> current = totalCount;
+        if (current != null) {
+            totalCount = new Expiring<>(current.value() + delta, current.expiresAt());
+        }
+    }
+
+    private <T> Expiring<T> expiring(T value) {
+        Duration ttl = properties.getTtl();
+        long nanos = ttl == null || ttl.isNegative() ? 0 : ttl.toNanos();
+        return new Expiring<>(value, System.nanoTime() + nanos);
+    }
+
+    private static <T> T valueOf(Expiring<T> entry) {
+        return entry == null || entry.isExpired() ? null : entry.value();
+    }
+
+    private static List<SortProperty> signature(Sort sort) {
+        List<SortProperty> orders = new ArrayList<>();
+        if (sort != null) {
+            for (Sort.Order order : sort) {
+                if (!ROOT_PROPERTIES.contains(order.getProperty())) {
+                    return null;
+                }
+                orders.add(new SortProperty(order.getProperty(), order.isDescending()));
+            }
+        }
+        if (orders.stream().noneMatch(order -> "id".equals(order.property()))) {
+            orders.add(new SortProperty("id", false));
+        }
+        return List.copyOf(orders);
+    }
+
+    public record Snapshot(
+            Long id,
+            String name,
+            String fullName,
+            Integer employeesCount,
+            Integer rating,
+            OrganizationType type,
+            Long annualTurnover) {
+
+        public static Snapshot of(Organization organization) {
+            return new Snapshot(
+                    organization.getId(),
+                    organization.getName(),
+                    organization.getFullName(),
+                    organization.getEmployeesCount(),
+                    organization.getRating(),
+                    organization.getType(),
+                    organization.getAnnualTurnover());
+        }
+
+        private Set<String> changedProperties(Snapshot other) {
+            Set<String> changed = new HashSet<>();
+            if (!Objects.equals(name, other.name)) {
+                changed.add("name");
+            }
+            if (!Objects.equals(fullName, other.fullName)) {
+                changed.add("fullName");
+            }
+            if (!Objects.equals(employeesCount, other.employeesCount)) {
+                changed.add("employeesCount");
+            }
+            if (!Objects.equals(rating, other.rating)) {
+                changed.add("rating");
+            }
+            if (type != other.type) {
+                changed.add("type");
+            }
+            if (!Objects.equals(annualTurnover, other.annualTurnover)) {
+                changed.add("annualTurnover");
+            }
+            return changed;
+        }
+    }
+
+    private record SortProperty(String property, boolean descending) {}
+
+    private record PageKey(List<SortProperty> sort, int page, int size) {
+
+        private boolean idOnly() {
+            return sort.size() == 1;
+        }
+
+        private boolean descending() {
+            return sort.get(0).descending();
+        }
+
+        private boolean affectedByRemoval(Long id, Expiring<List<Long>> entry) {
+            List<Long> ids = entry.value();
+            if (!idOnly() || ids.size() < size || id == null) {
+                return true;
+            }
+            long last = ids.get(ids.size() - 1);
+            return descending() ? id >= last : id <= last;
+        }
+    }
+
+    private record Expiring<T>(T value, long expiresAt) {
+
+        private boolean isExpired() {
+            return expiresAt - System.nanoTime() <= 0;
+        }
+    }
+
+    private static final class PendingChanges {
+        private final List<Runnable> changes = new ArrayList<>();
+    }
+
+    private final class CacheMetrics {
+        private final Counter hits;
+        private final Counter misses;
+
+        private CacheMetrics(String name) {
+            hits = Counter.builder("cache.results.requests")
+                    .tag("cache", name)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            misses = Counter.builder("cache.results.requests")
+                    .tag("cache", name)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("cache.results.hit.ratio", this, CacheMetrics::hitRatio)
+                    .tag("cache", name)
+                    .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            double lookups = hits.count() + misses.count();
+            return lookups == 0 ? 0 : hits.count() / lookups;
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package ru.itmo.organization.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.itmo.organization.config.SearchProperties;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.model.Organization;
+
+@Component
+public class OrganizationSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final long MAP_ENTRY_BYTES = 64;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long STRING_HEADER_BYTES = 40;
+    private static final long[] NO_IDS = new long[0];
+
+    private final SearchProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final List<Map<Long, LongPostingList>> postings = new ArrayList<>();
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private final Map<String, Runnable> refreshedDuringRebuild = new LinkedHashMap<>();
+    private volatile boolean ready;
+    private volatile Runnable rebuildTrigger;
+    private boolean rebuilding;
+    private volatile long documentCount;
+    private volatile long gramCount;
+    private volatile long postingCount;
+    private volatile long estimatedBytes;
+
+    public OrganizationSearchIndex(SearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (int i = 0; i < SearchField.values().length; i++) {
+            postings.add(new HashMap<>());
+        }
+        Gauge.builder("search.index.documents", this, index -> index.documentCount)
+                .description("Организации в поисковом индексе")
+                .register(meterRegistry);
+        Gauge.builder("search.index.grams", this, index -> index.gramCount)
+                .description("Уникальные n-граммы во всех полях")
+                .register(meterRegistry);
+        Gauge.builder("search.index.postings", this, index -> index.postingCount)
+                .description("Элементы списков вхождений")
+                .register(meterRegistry);
+        Gauge.builder("search.index.memory", this, index -> index.estimatedBytes)
+                .description("Оценка занимаемой индексом памяти")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.getInMemoryIndex().isEnabled();
+    }
+
+    public boolean isReady() {
+        return ready && isEnabled();
+    }
+
+    public Optional<List<Long>> search(String rawTerm, String rawField) {
+        if (!isReady() || rawTerm == null || rawTerm.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        String term = rawTerm.trim().toLowerCase(Locale.ROOT);
+        if (term.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long[] matches = null;
+            for (SearchField field : SearchField.resolve(rawField)) {
+                long[] fieldMatches = match(field, term);
+                matches = matches == null ? fieldMatches : union(matches, fieldMatches);
+            }
+            if (matches == null || matches.length > properties.getInMemoryIndex().getMaxResolvedIds()) {
+                return Optional.empty();
+            }
+            return Optional.of(Arrays.stream(matches).boxed().toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexAfterCommit(Organization organization) {
+        if (!isEnabled() || organization == null || organization.getId() == null) {
+            return;
+        }
+        indexAfterCommit(toDocument(organization));
+    }
+
+    public void indexAfterCommit(SearchDocument document) {
+        if (!isEnabled() || document == null) {
+            return;
+        }
+        afterCommit(() -> put(document));
+    }
+
+    public void removeAfterCommit(Long id) {
+        if (!isEnabled() || id == null) {
+            return;
+        }
+        afterCommit(() -> remove(id));
+    }
+
+    public void refreshAddressAfterCommit(Address address) {
+        if (!isEnabled() || address == null || address.getId() == null) {
+            return;
+        }
+        Long addressId = address.getId();
+        String zipCode = address.getZipCode();
+        Location town = address.getTown();
+        Long townId = town == null ? null : town.getId();
+        String townName = town == null ? null : town.getName();
+        afterCommit(() -> refresh("address:" + addressId,
+                document -> addressId.equals(document.postalAddressId),
+                document -> {
+                    document.townId = townId;
+                    document.values[SearchField.ZIP_CODE.ordinal()] = normalize(zipCode);
+                    document.values[SearchField.TOWN_NAME.ordinal()] = normalize(townName);
+                }));
+    }
+
+    public void refreshTownAfterCommit(Location town) {
+        if (!isEnabled() || town == null || town.getId() == null) {
+            return;
+        }
+        Long townId = town.getId();
+        String townName = town.getName();
+        afterCommit(() -> refresh("town:" + townId,
+                document -> townId.equals(document.townId),
+                document -> document.values[SearchField.TOWN_NAME.ordinal()] = normalize(townName)));
+    }
+
+    public void onRebuildRequired(Runnable trigger) {
+        this.rebuildTrigger = trigger;
+    }
+
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+            refreshedDuringRebuild.clear();
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void loadDuringRebuild(Collection<SearchDocument> batch) {
+        lock.writeLock().lock();
+        try {
+            for (SearchDocument document : batch) {
+                if (!touchedDuringRebuild.contains(document.id())) {
+                    putLocked(document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeRebuild() {
+        lock.writeLock().lock();
+        try {
+            refreshedDuringRebuild.values().forEach(Runnable::run);
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+            refreshedDuringRebuild.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            ready = false;
+            touchedDuringRebuild.clear();
+            refreshedDuringRebuild.clear();
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public IndexStatistics statistics() {
+        return new IndexStatistics(documentCount, gramCount, postingCount, estimatedBytes);
+    }
+
+    private void put(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            markTouched(document.id());
+            putLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            Document existing = documents.remove(id);
+            if (existing != null) {
+                unindex(id, existing);
+                documentCount = documents.size();
+                estimatedBytes -= existing.estimatedBytes();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void refresh(String key, Predicate<Document> filter, Consumer<Document> update) {
+        lock.writeLock().lock();
+        try {
+            Runnable refresh = () -> updateDocuments(filter, update);
+            if (rebuilding) {
+                refreshedDuringRebuild.remove(key);
+                refreshedDuringRebuild.put(key, refresh);
+            }
+            refresh.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void updateDocuments(Predicate<Document> filter,
+            Consumer<Document> update) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                Document document = entry.getValue();
+                if (filter.test(document)) {
+                    unindex(entry.getKey(), document);
+                    estimatedBytes -= document.estimatedBytes();
+                    update.accept(document);
+                    estimatedBytes += document.estimatedBytes();
+                    index(entry.getKey(), document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(SearchDocument source) {
+        Document document = new Document(source);
+        Document previous = documents.put(source.id(), document);
+        if (previous != null) {
+            unindex(source.id(), previous);
+            estimatedBytes -= previous.estimatedBytes();
+        }
+        index(source.id(), document);
+        documentCount = documents.size();
+        estimatedBytes += document.estimatedBytes();
+    }
+
+    private void clearLocked() {
+        documents.clear();
+        postings.forEach(Map::clear);
+        documentCount = 0;
+        gramCount = 0;
+        postingCount = 0;
+        estimatedBytes = 0;
+    }
+
+    private void markTouched(Long id) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(id);
+        }
+    }
+
+    private void index(long id, Document document) {
+        for (SearchField field : SearchField.values()) {
+            Map<Long, LongPostingList> fieldPostings = postings.get(field.ordinal());
+            for (long gram : grams(document.values[field.ordinal()])) {
+                LongPostingList list = fieldPostings.get(gram);
+                if (list == null) {
+                    list = new LongPostingList();
+                    fieldPostings.put(gram, list);
+                    gramCount++;
+                    estimatedBytes += MAP_ENTRY_BYTES + ARRAY_HEADER_BYTES + 8L * list.capacity();
+                }
+                int size = list.size();
+                int capacity = list.capacity();
+                list.add(id);
+                postingCount += list.size() - size;
+                estimatedBytes += 8L * (list.capacity() - capacity);
+            }
+        }
+    }
+
+    private void unindex(long id, Document document) {
+        for (SearchField field : SearchField.values()) {
+            Map<Long, LongPostingList> fieldPostings = postings.get(field.ordinal());
+            for (long gram : grams(document.values[field.ordinal()])) {
+                LongPostingList list = fieldPostings.get(gram);
+                if (list != null) {
+                    int size = list.size();
+                    int capacity = list.capacity();
+                    list.remove(id);
+                    postingCount -= size - list.size();
+                    estimatedBytes -= 8L * (capacity - list.capacity());
+                    if (list.isEmpty()) {
+                        fieldPostings.remove(gram);
+                        gramCount--;
+                        estimatedBytes -= MAP_ENTRY_BYTES + ARRAY_HEADER_BYTES + 8L * list.capacity();
+                    }
+                }
+            }
+        }
+    }
+
+    private long[] match(SearchField field, String term) {
+        int fieldIndex = field.ordinal();
+        Map<Long, LongPostingList> fieldPostings = postings.get(fieldIndex);
+        long[] termGrams = grams(term);
+        List<LongPostingList> lists = new ArrayList<>(termGrams.length);
+        for (long gram : termGrams) {
+            LongPostingList list = fieldPostings.get(gram);
+            if (list == null) {
+                return NO_IDS;
+            }
+            lists.add(list);
+        }
+        lists.sort((left, right) -> Integer.compare(left.size(), right.size()));
+        long[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).retainAll(candidates);
+        }
+        long[] verified = new long[candidates.length];
+        int count = 0;
+        for (long id : candidates) {
+            Document document = documents.get(id);
+            String value = document == null ? null : document.values[fieldIndex];
+            if (value != null && value.contains(term)) {
+                verified[count++] = id;
+            }
+        }
+        return Arrays.copyOf(verified, count);
+    }
+
+    private static long[] union(long[] left, long[] right) {
+        long[] result = new long[left.length + right.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length || j < right.length) {
+            long next;
+            if (j >= right.length || (i < left.length && left[i] < right[j])) {
+                next = left[i++];
+            } else if (i >= left.length || right[j] < left[i]) {
+                next = right[j++];
+            } else {
+                next = left[i++];
+                j++;
+            }
+            result[count++] = next;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long[] grams(String value) {
+        if (value == null || value.length() < GRAM_LENGTH) {
+            return NO_IDS;
+        }
+        long[] grams = new long[value.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) value.charAt(i) << 32)
+                    | ((long) value.charAt(i + 1) << 16)
+                    | value.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int unique = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, unique);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static SearchDocument toDocument(Organization organization) {
+        Address postalAddress = organization.getPostalAddress();
+        Location town = postalAddress == null ? null : postalAddress.getTown();
+        return new SearchDocument(
+                organization.getId(),
+                organization.getName(),
+                organization.getFullName(),
+                postalAddress == null ? null : postalAddress.getId(),
+                postalAddress == null ? null : postalAddress.getZipCode(),
+                town == null ? null : town.getId(),
+                town == null ? null : town.getName());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        Object resource = TransactionSynchronizationManager.getResource(this);
+        if (resource instanceof PendingChanges pending) {
+            pending.add(action, properties.getInMemoryIndex().getMaxPendingChanges());
+            return;
+        }
+        PendingChanges pending = new PendingChanges();
+        pending.add(action, properties.getInMemoryIndex().getMaxPendingChanges());
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(pending);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrganizationSearchIndex.this);
+            }
+        });
+    }
+
+    private void apply(PendingChanges pending) {
+        if (pending.overflowed) {
+            ready = false;
+            Runnable trigger = rebuildTrigger;
+            if (trigger != null) {
+                trigger.run();
+            }
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pending.changes.forEach(Runnable::run);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public record IndexStatistics(long documents, long grams, long postings, long estimatedBytes) {}
+
+    private static final class PendingChanges {
+        private final List<Runnable> changes = new ArrayList<>();
+        private boolean overflowed;
+
+        private void add(Runnable change, int limit) {
+            if (overflowed) {
+                return;
+            }
+            if (changes.size() >= limit) {
+                overflowed = true;
+                changes.clear();
+                return;
+            }
+            changes.add(change);
+        }
+    }
+
+    private static final class Document {
+        private final String[] values = new String[SearchField.values().length];
+        private final Long postalAddressId;
+        private Long townId;
+
+        private Document(SearchDocument source) {
+            values[SearchField.NAME.ordinal()] = normalize(source.name());
+            values[SearchField.FULL_NAME.ordinal()] = normalize(source.fullName());
+            values[SearchField.ZIP_CODE.ordinal()] = normalize(source.zipCode());
+            values[SearchField.TOWN_NAME.ordinal()] = normalize(source.townName());
+            this.postalAddressId = source.postalAddressId();
+            this.townId = source.townId();
+        }
+
+        private long estimatedBytes() {
+            long bytes = MAP_ENTRY_BYTES * 2;
+            for (String value : values) {
+                if (value != null) {
+                    bytes += STRING_HEADER_BYTES + value.length();
+                }
+            }
+            return bytes;
+        }
+    }
+
+    private enum SearchField {
+        NAME("name"),
+        FULL_NAME("fullname"),
+        ZIP_CODE("postaladdress.zipcode"),
+        TOWN_NAME("postaladdress.town.name");
+
+        private final String key;
+
+        SearchField(String key) {
+            this.key = key;
+        }
+
+        private static List<SearchField> resolve(String rawField) {
+            String field = rawField == null ? "" : rawField.trim().toLowerCase(Locale.ROOT);
+            for (SearchField candidate : values()) {
+                if (candidate.key.equals(field)) {
+                    return List.of(candidate);
+                }
+            }
+            return List.of(values());
+        }
+    }
+}
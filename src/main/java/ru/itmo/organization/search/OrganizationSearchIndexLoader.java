@@ -0,0 +1,113 @@
+package ru.itmo.organization.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itmo.organization.config.SearchProperties;
+import ru.itmo.organization.repository.OrganizationRepository;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrganizationSearchIndexLoader {
+
+    private final OrganizationSearchIndex searchIndex;
+    private final OrganizationRepository organizationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SearchProperties properties;
+    private final TaskScheduler taskScheduler;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    @PostConstruct
+    public void registerTrigger() {
+        searchIndex.onRebuildRequired(this::requestRebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        requestRebuild();
+        Duration interval = properties.getInMemoryIndex().getRefreshInterval();
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            log.info("Поисковый индекс в памяти обновляется только изменениями этого экземпляра; "
+                    + "при нескольких репликах задайте app.search.in-memory-index.refresh-interval "
+                    + "или отключите SEARCH_IN_MEMORY_INDEX");
+            return;
+        }
+        taskScheduler.scheduleWithFixedDelay(this::requestRebuild, Instant.now().plus(interval), interval);
+    }
+
+    public void requestRebuild() {
+        requested.set(true);
+        if (running.compareAndSet(false, true)) {
+            Thread loader = new Thread(this::runRequestedRebuilds, "search-index-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    private void runRequestedRebuilds() {
+        do {
+            try {
+                while (requested.getAndSet(false)) {
+                    rebuild();
+                }
+            } finally {
+                running.set(false);
+            }
+        } while (requested.get() && running.compareAndSet(false, true));
+    }
+
+    public void rebuild() {
+        int fetchSize = Math.max(1, properties.getInMemoryIndex().getRebuildFetchSize());
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        long started = System.nanoTime();
+        searchIndex.beginRebuild();
+        try {
+            template.executeWithoutResult(status -> {
+                List<SearchDocument> batch = new ArrayList<>(fetchSize);
+                try (Stream<SearchDocument> documents = organizationRepository.streamSearchDocuments(fetchSize)) {
+                    documents.forEach(document -> {
+                        batch.add(document);
+                        if (batch.size() >= fetchSize) {
+                            searchIndex.loadDuringRebuild(batch);
+                            batch.clear();
+                            entityManager.clear();
+                        }
+                    });
+                }
+                searchIndex.loadDuringRebuild(batch);
+            });
+            searchIndex.completeRebuild();
+            OrganizationSearchIndex.IndexStatistics statistics = searchIndex.statistics();
+            log.info("Поисковый индекс построен за {} мс: {} организаций, {} n-грамм, ~{} байт",
+                    (System.nanoTime() - started) / 1_000_000, statistics.documents(), statistics.grams(),
+                    statistics.estimatedBytes());
+        } catch (Exception ex) {
+            searchIndex.abortRebuild();
+            log.warn("Не удалось построить поисковый индекс, поиск будет выполняться в БД: {}", ex.getMessage());
+        }
+    }
+}
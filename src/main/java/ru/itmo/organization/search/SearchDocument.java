@@ -0,0 +1,11 @@
+package ru.itmo.organization.search;
+
+public record SearchDocument(
+        long id,
+        String name,
+        String fullName,
+        Long postalAddressId,
+        String zipCode,
+        Long townId,
+        String townName
+) {}
@@ -0,0 +1,66 @@
+package ru.itmo.organization.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.itmo.organization.config.SearchProperties;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TrigramIndexInitializer {
+
+    private static final List<Index> INDEXES = List.of(
+            new Index("idx_organization_name_trgm", "organization USING gin (lower(name) gin_trgm_ops)"),
+            new Index("idx_organization_full_name_trgm", "organization USING gin (lower(full_name) gin_trgm_ops)"),
+            new Index("idx_address_zip_code_trgm", "address USING gin (lower(zip_code) gin_trgm_ops)"),
+            new Index("idx_location_name_trgm", "location USING gin (lower(name) gin_trgm_ops)"),
+            new Index("idx_organization_postal_address_id", "organization (postal_address_id)"),
+            new Index("idx_address_town_id", "address (town_id)"));
+
+    private static final String VALIDITY_QUERY =
+            "SELECT i.indisvalid FROM pg_index i WHERE i.indexrelid = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!properties.isTrigramIndexes()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (Exception ex) {
+            log.warn("Расширение pg_trgm недоступно, поиск будет выполняться без триграммных индексов: {}",
+                    ex.getMessage());
+            return;
+        }
+        for (Index index : INDEXES) {
+            try {
+                createIndex(index);
+            } catch (Exception ex) {
+                log.warn("Не удалось создать индекс для поиска {}: {}", index.name(), ex.getMessage());
+            }
+        }
+    }
+
+    private void createIndex(Index index) {
+        List<Boolean> valid = jdbcTemplate.queryForList(VALIDITY_QUERY, Boolean.class, index.name());
+        if (!valid.isEmpty() && Boolean.TRUE.equals(valid.get(0))) {
+            return;
+        }
+        if (!valid.isEmpty()) {
+            log.warn("Индекс {} невалиден после прерванного построения, пересоздаём", index.name());
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+        }
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index.name() + " ON " + index.definition());
+    }
+
+    private record Index(String name, String definition) {
+    }
+}
@@ -3,6 +3,7 @@ package ru.itmo.organization.service;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -12,7 +13,10 @@ import jakarta.validation.Valid;
 import ru.itmo.organization.dto.AddressDto;
 import ru.itmo.organization.exception.ResourceNotFoundException;
 import ru.itmo.organization.mapper.ReferenceMapper;
+import ru.itmo.organization.model.ChangeKind;
 import ru.itmo.organization.repository.AddressRepository;
+import ru.itmo.organization.repository.OrganizationCountCache;
+import ru.itmo.organization.search.OrganizationSearchIndex;
 
 @Service
 @Transactional
@@ -22,7 +26,10 @@ public class AddressService {
     
     private final AddressRepository repository;
     private final ReferenceMapper mapper;
-    private final WebSocketService webSocketService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImportScope importScope;
+    private final OrganizationCountCache organizationCountCache;
+    private final OrganizationSearchIndex organizationSearchIndex;
     
     @Transactional(readOnly = true)
     public List<AddressDto> findAll() {
@@ -47,14 +54,16 @@ public class AddressService {
     }
 
     public AddressDto create(@Valid AddressDto dto) {
-        return saveAndBroadcast(mapper.toEntity(dto));
+        return saveAndBroadcast(mapper.toEntity(dto), ChangeKind.CREATED, false);
     }
 
     public AddressDto update(Long id, @Valid AddressDto dto) {
         var existing = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Адрес с ID " + id + " не найден"));
         existing.setZipCode(dto.getZipCode());
-        return saveAndBroadcast(existing);
+        organizationCountCache.invalidate();
+        organizationSearchIndex.refreshAddressAfterCommit(existing);
+        return saveAndBroadcast(existing, ChangeKind.UPDATED, repository.isReferenced(id));
     }
 
     public void delete(Long id) {
@@ -66,12 +75,17 @@ public class AddressService {
         }
         
         repository.delete(existing);
-        webSocketService.broadcastAddressesUpdate();
+        eventPublisher.publishEvent(new ReferenceChangedEvent(
+                ReferenceChangedEvent.Reference.ADDRESS, ChangeKind.DELETED, id, false));
     }
 
-    private AddressDto saveAndBroadcast(ru.itmo.organization.model.Address entity) {
+    private AddressDto saveAndBroadcast(ru.itmo.organization.model.Address entity, ChangeKind kind,
+            boolean organizationsAffected) {
         var saved = repository.save(entity);
-        webSocketService.broadcastAddressesUpdate();
+        if (!importScope.isActive()) {
+            eventPublisher.publishEvent(new ReferenceChangedEvent(
+                    ReferenceChangedEvent.Reference.ADDRESS, kind, saved.getId(), organizationsAffected));
+        }
         return mapper.toDto(saved);
     }
 }
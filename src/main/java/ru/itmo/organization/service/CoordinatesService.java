@@ -3,6 +3,7 @@ package ru.itmo.organization.service;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,7 @@ import jakarta.validation.Valid;
 import ru.itmo.organization.dto.CoordinatesDto;
 import ru.itmo.organization.exception.ResourceNotFoundException;
 import ru.itmo.organization.mapper.ReferenceMapper;
+import ru.itmo.organization.model.ChangeKind;
 import ru.itmo.organization.repository.CoordinatesRepository;
 
 @Service
@@ -22,7 +24,8 @@ public class CoordinatesService {
     
     private final CoordinatesRepository coordinatesRepository;
     private final ReferenceMapper mapper;
-    private final WebSocketService webSocketService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImportScope importScope;
     
     @Transactional(readOnly = true)
     public List<CoordinatesDto> findAll() {
@@ -42,7 +45,7 @@ public class CoordinatesService {
     }
 
     public CoordinatesDto create(@Valid CoordinatesDto dto) {
-        return saveAndBroadcast(mapper.toEntity(dto));
+        return saveAndBroadcast(mapper.toEntity(dto), ChangeKind.CREATED, false);
     }
 
     public CoordinatesDto update(Long id, @Valid CoordinatesDto dto) {
@@ -50,7 +53,7 @@ public class CoordinatesService {
                 .orElseThrow(() -> new ResourceNotFoundException("Координаты с ID " + id + " не найдены"));
         existing.setX(dto.getX());
         existing.setY(dto.getY());
-        return saveAndBroadcast(existing);
+        return saveAndBroadcast(existing, ChangeKind.UPDATED, coordinatesRepository.isReferenced(id));
     }
 
     public void delete(Long id) {
@@ -62,12 +65,17 @@ public class CoordinatesService {
         }
         
         coordinatesRepository.delete(existing);
-        webSocketService.broadcastCoordinatesUpdate();
+        eventPublisher.publishEvent(new ReferenceChangedEvent(
+                ReferenceChangedEvent.Reference.COORDINATES, ChangeKind.DELETED, id, false));
     }
 
-    private CoordinatesDto saveAndBroadcast(ru.itmo.organization.model.Coordinates entity) {
+    private CoordinatesDto saveAndBroadcast(ru.itmo.organization.model.Coordinates entity, ChangeKind kind,
+            boolean organizationsAffected) {
         var saved = coordinatesRepository.save(entity);
-        webSocketService.broadcastCoordinatesUpdate();
+        if (!importScope.isActive()) {
+            eventPublisher.publishEvent(new ReferenceChangedEvent(
+                    ReferenceChangedEvent.Reference.COORDINATES, kind, saved.getId(), organizationsAffected));
+        }
         return mapper.toDto(saved);
     }
 }
@@ -0,0 +1,185 @@
+package ru.itmo.organization.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itmo.organization.dto.AddressDto;
+import ru.itmo.organization.dto.CoordinatesDto;
+import ru.itmo.organization.dto.LocationDto;
+import ru.itmo.organization.dto.OrganizationDto;
+import ru.itmo.organization.model.ImportJournalEntry;
+import ru.itmo.organization.model.ImportRecordKind;
+import ru.itmo.organization.model.OrganizationType;
+import ru.itmo.organization.repository.ImportOperationRepository;
+import ru.itmo.organization.repository.OrganizationCountCache;
+import ru.itmo.organization.repository.OrganizationResultCache;
+import ru.itmo.organization.search.OrganizationSearchIndex;
+
+@Service
+@RequiredArgsConstructor
+public class ImportCompensationService {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final OrganizationCountCache countCache;
+    private final OrganizationResultCache resultCache;
+    private final OrganizationAggregates aggregates;
+    private final OrganizationSearchIndex searchIndex;
+    private final ImportOperationRepository importOperationRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long operationId, CreatedRecords records) {
+        journal(operationId, ImportRecordKind.ORGANIZATION, records.organizationIds);
+        journal(operationId, ImportRecordKind.COORDINATES, records.coordinatesIds);
+        journal(operationId, ImportRecordKind.ADDRESS, records.addressIds);
+        journal(operationId, ImportRecordKind.LOCATION, records.locationIds);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTowns(Long operationId, Collection<Long> ids) {
+        journal(operationId, ImportRecordKind.TOWN, ids);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void compensate(Long operationId) {
+        List<ImportJournalEntry> journal = importOperationRepository.findJournal(operationId);
+        if (journal.isEmpty()) {
+            return;
+        }
+        Map<ImportRecordKind, Set<Long>> ids = new EnumMap<>(ImportRecordKind.class);
+        for (ImportJournalEntry entry : journal) {
+            ids.computeIfAbsent(entry.getKind(), kind -> new LinkedHashSet<>()).addAll(List.of(entry.getRecordIds()));
+        }
+        Set<Long> organizationIds = ids.getOrDefault(ImportRecordKind.ORGANIZATION, Set.of());
+        delete("Organization", organizationIds);
+        delete("Coordinates", ids.getOrDefault(ImportRecordKind.COORDINATES, Set.of()));
+        delete("Address", ids.getOrDefault(ImportRecordKind.ADDRESS, Set.of()));
+        delete("Location", ids.getOrDefault(ImportRecordKind.LOCATION, Set.of()));
+        releaseLocations(ids.getOrDefault(ImportRecordKind.TOWN, Set.of()));
+        importOperationRepository.deleteJournal(operationId);
+        if (!organizationIds.isEmpty()) {
+            countCache.invalidate();
+            resultCache.invalidate();
+            organizationIds.forEach(searchIndex::removeAfterCommit);
+        }
+    }
+
+    private void journal(Long operationId, ImportRecordKind kind, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        ImportJournalEntry entry = new ImportJournalEntry();
+        entry.setOperationId(operationId);
+        entry.setKind(kind);
+        entry.setRecordIds(ids.toArray(Long[]::new));
+        importOperationRepository.saveJournalEntry(entry);
+    }
+
+    private void releaseLocations(Collection<Long> ids) {
+        List<Long> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == DELETE_BATCH_SIZE) {
+                deleteUnreferencedLocations(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleteUnreferencedLocations(batch);
+        }
+    }
+
+    private void deleteUnreferencedLocations(List<Long> ids) {
+        entityManager.createQuery("DELETE FROM Location l WHERE l.id IN :ids "
+                        + "AND NOT EXISTS (SELECT a.id FROM Address a WHERE a.town.id = l.id)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    private void delete(String entity, Collection<Long> ids) {
+        List<Long> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == DELETE_BATCH_SIZE) {
+                deleteBatch(entity, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleteBatch(entity, batch);
+        }
+    }
+
+    private void deleteBatch(String entity, List<Long> ids) {
+        if ("Organization".equals(entity)) {
+            releaseAggregates(ids);
+        }
+        entityManager.createQuery("DELETE FROM " + entity + " e WHERE e.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    private void releaseAggregates(List<Long> ids) {
+        entityManager.createQuery("SELECT o.rating, o.type FROM Organization o WHERE o.id IN :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .forEach(row -> aggregates.decrement((Integer) row[0], (OrganizationType) row[1]));
+    }
+
+    public static class CreatedRecords {
+        private final Set<Long> organizationIds = new LinkedHashSet<>();
+        private final Set<Long> coordinatesIds = new LinkedHashSet<>();
+        private final Set<Long> addressIds = new LinkedHashSet<>();
+        private final Set<Long> locationIds = new LinkedHashSet<>();
+
+        public void addAll(Collection<?> created) {
+            for (Object dto : created) {
+                if (dto instanceof OrganizationDto organization) {
+                    add(organizationIds, organization.getId());
+                    if (organization.getCoordinates() != null) {
+                        add(coordinatesIds, organization.getCoordinates().getId());
+                    }
+                    addAddress(organization.getPostalAddress());
+                    addAddress(organization.getOfficialAddress());
+                } else if (dto instanceof CoordinatesDto coordinates) {
+                    add(coordinatesIds, coordinates.getId());
+                } else if (dto instanceof AddressDto address) {
+                    addAddress(address);
+                } else if (dto instanceof LocationDto location) {
+                    add(locationIds, location.getId());
+                }
+            }
+        }
+
+        public boolean isEmpty() {
+            return organizationIds.isEmpty() && coordinatesIds.isEmpty()
+                    && addressIds.isEmpty() && locationIds.isEmpty();
+        }
+
+        private void addAddress(AddressDto address) {
+            if (address == null) {
+                return;
+            }
+            add(addressIds, address.getId());
+        }
+
+        private static void add(Set<Long> ids, Long id) {
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+    }
+}
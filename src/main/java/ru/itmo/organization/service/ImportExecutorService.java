@@ -1,7 +1,11 @@
 package ru.itmo.organization.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -10,10 +14,15 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import ru.itmo.organization.config.ImportProperties;
 import ru.itmo.organization.dto.AddressDto;
-import ru.itmo.organization.dto.LocationDto;
+import ru.itmo.organization.dto.ImportAddressDto;
+import ru.itmo.organization.dto.ImportLocationDto;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.dto.OrganizationDto;
 import ru.itmo.organization.mapper.ImportMapper;
 import ru.itmo.organization.model.ImportObjectType;
+import ru.itmo.organization.repository.OrganizationResultCache;
 
 @Service
 @RequiredArgsConstructor
@@ -24,49 +33,127 @@ public class ImportExecutorService {
     private final LocationService locationService;
     private final AddressService addressService;
     private final ImportMapper importMapper;
+    private final OrganizationBulkImportService organizationBulkImportService;
+    private final ImportProperties importProperties;
+    private final ImportLocationResolver locationResolver;
+    private final Validator validator;
+    private final ImportScope importScope;
+    private final OrganizationResultCache resultCache;
+    private final ImportCompensationService compensationService;
 
     @Retryable(
             retryFor = {PessimisticLockingFailureException.class},
             maxAttempts = 5,
             backoff = @Backoff(delay = 50, multiplier = 2.0, maxDelay = 1000, random = true))
     @Transactional(propagation = Propagation.MANDATORY, isolation = Isolation.SERIALIZABLE)
-    public List<?> executeImport(List<?> records, ImportObjectType type) {
-        if (records == null || records.isEmpty()) {
-            throw new IllegalArgumentException("Файл не содержит записей для импорта");
+    public List<?> executeChunk(List<?> records, ImportObjectType type, int firstIndex,
+            ImportLocationCache locationCache) {
+        int[] recordNumbers = new int[records.size()];
+        for (int i = 0; i < recordNumbers.length; i++) {
+            recordNumbers[i] = firstIndex + i;
+        }
+        return executeChunk(records, type, recordNumbers, locationCache);
+    }
+
+    @Retryable(
+            retryFor = {PessimisticLockingFailureException.class},
+            maxAttempts = 5,
+            backoff = @Backoff(delay = 50, multiplier = 2.0, maxDelay = 1000, random = true))
+    @Transactional(propagation = Propagation.MANDATORY, isolation = Isolation.SERIALIZABLE)
+    public List<?> executeChunk(List<?> records, ImportObjectType type, int[] recordNumbers,
+            ImportLocationCache locationCache) {
+        ImportObjectType resolvedType = type == null ? ImportObjectType.ORGANIZATION : type;
+        if (resolvedType == ImportObjectType.ORGANIZATION && importProperties.isBulkOrganizations()) {
+            return organizationBulkImportService.importChunk(records, recordNumbers, locationCache);
         }
 
-        List<Object> created = new ArrayList<>();
-        int index = 1;
-        for (Object dto : records) {
+        importScope.enter();
+        Map<String, Long> towns = resolveTowns(records, resolvedType, recordNumbers, locationCache);
+        List<Object> created = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
             try {
-                created.add(handleSingleImport(dto, type));
+                created.add(handleSingleImport(records.get(i), resolvedType, towns));
             } catch (Exception ex) {
-                throw new IllegalArgumentException("Ошибка в записи #" + index + ": " + conciseMessage(ex), ex);
+                throw new IllegalArgumentException(
+                        "Ошибка в записи #" + recordNumbers[i] + ": " + conciseMessage(ex), ex);
             }
-            index++;
+        }
+        if (resolvedType == ImportObjectType.ORGANIZATION && !created.isEmpty()) {
+            resultCache.invalidate();
         }
         return created;
     }
 
-    private Object handleSingleImport(Object dto, ImportObjectType type) {
-        ImportObjectType resolvedType = type == null ? ImportObjectType.ORGANIZATION : type;
-        return switch (resolvedType) {
-            case ORGANIZATION -> organizationService.create(importMapper.toOrganizationDto((ru.itmo.organization.dto.ImportOrganizationDto) dto));
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    public void prepareTowns(Long operationId, List<?> records, ImportObjectType type, int[] recordNumbers,
+            ImportLocationCache locationCache) {
+        resolveTowns(records, type == null ? ImportObjectType.ORGANIZATION : type, recordNumbers, locationCache);
+        compensationService.recordTowns(operationId, locationCache.pendingCreatedIds());
+    }
+
+    private Map<String, Long> resolveTowns(List<?> records, ImportObjectType type, int[] recordNumbers,
+            ImportLocationCache locationCache) {
+        if (type != ImportObjectType.ORGANIZATION && type != ImportObjectType.ADDRESS) {
+            return Map.of();
+        }
+        List<ImportLocationDto> towns = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            Object record = records.get(i);
+            if (record instanceof ImportOrganizationDto organization) {
+                addTown(towns, organization.getPostalAddress(), recordNumbers[i]);
+                addTown(towns, organization.getOfficialAddress(), recordNumbers[i]);
+            } else if (record instanceof ImportAddressDto address) {
+                addTown(towns, address, recordNumbers[i]);
+            }
+        }
+        return towns.isEmpty() ? Map.of() : locationResolver.resolve(towns, locationCache).ids();
+    }
+
+    private void addTown(List<ImportLocationDto> towns, ImportAddressDto address, int index) {
+        if (address == null || address.getTown() == null) {
+            return;
+        }
+        Set<ConstraintViolation<ImportLocationDto>> violations = validator.validate(address.getTown());
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Ошибка в записи #" + index + ": " + violations.iterator().next().getMessage());
+        }
+        towns.add(address.getTown());
+    }
+
+    private Object handleSingleImport(Object dto, ImportObjectType type, Map<String, Long> towns) {
+        return switch (type) {
+            case ORGANIZATION -> importOrganization((ImportOrganizationDto) dto, towns);
             case COORDINATES -> coordinatesService.create(importMapper.toCoordinatesDto((ru.itmo.organization.dto.ImportCoordinatesDto) dto));
-            case LOCATION -> locationService.create(importMapper.toLocationDto((ru.itmo.organization.dto.ImportLocationDto) dto));
-            case ADDRESS -> importAddress((ru.itmo.organization.dto.ImportAddressDto) dto);
+            case LOCATION -> locationService.create(importMapper.toLocationDto((ImportLocationDto) dto));
+            case ADDRESS -> importAddress((ImportAddressDto) dto, towns);
         };
     }
 
-    private AddressDto importAddress(ru.itmo.organization.dto.ImportAddressDto dto) {
+    private OrganizationDto importOrganization(ImportOrganizationDto dto, Map<String, Long> towns) {
+        OrganizationDto payload = importMapper.toOrganizationDto(dto);
+        linkTown(payload.getPostalAddress(), towns);
+        linkTown(payload.getOfficialAddress(), towns);
+        return organizationService.create(payload);
+    }
+
+    private void linkTown(AddressDto address, Map<String, Long> towns) {
+        if (address != null && address.getTown() != null) {
+            address.setTownId(towns.get(ImportLocationCache.key(address.getTown().getName())));
+        }
+    }
+
+    private AddressDto importAddress(ImportAddressDto dto, Map<String, Long> towns) {
         if (dto == null) {
             throw new IllegalArgumentException("Адрес обязателен");
         }
-        LocationDto savedTown = locationService.create(importMapper.toLocationDto(dto.getTown()));
+        if (dto.getTown() == null) {
+            throw new IllegalArgumentException("Необходимо указать город для адреса");
+        }
         AddressDto payload = new AddressDto(
                 null,
                 dto.getZipCode(),
-                savedTown.getId(),
+                towns.get(ImportLocationCache.key(dto.getTown().getName())),
                 null,
                 null
         );
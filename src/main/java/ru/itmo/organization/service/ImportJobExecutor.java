@@ -0,0 +1,42 @@
+package ru.itmo.organization.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import ru.itmo.organization.config.ImportProperties;
+
+@Component
+public class ImportJobExecutor {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    public ImportJobExecutor(ImportProperties properties) {
+        int concurrency = Math.max(1, properties.getConcurrency());
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("import-job-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(Math.max(0, properties.getQueueCapacity()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    public void submit(Runnable job) throws TaskRejectedException {
+        executor.execute(job);
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public int queuedCount() {
+        return executor.getQueueSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+package ru.itmo.organization.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ImportLocationCache {
+
+    private final Map<String, Long> committed = new HashMap<>();
+    private final Map<String, Long> pending = new HashMap<>();
+    private final Set<Long> createdIds = new LinkedHashSet<>();
+    private final Set<Long> pendingCreatedIds = new LinkedHashSet<>();
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    public ImportLocationCache() {
+        this(0, 0);
+    }
+
+    public ImportLocationCache(long hits, long misses) {
+        this(new AtomicLong(hits), new AtomicLong(misses));
+    }
+
+    private ImportLocationCache(AtomicLong hits, AtomicLong misses) {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    public ImportLocationCache forWorker() {
+        return new ImportLocationCache(hits, misses);
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public Set<Long> createdIds() {
+        return createdIds;
+    }
+
+    Set<Long> pendingCreatedIds() {
+        return pendingCreatedIds;
+    }
+
+    static String key(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    Long lookup(String key) {
+        Long id = pending.get(key);
+        return id != null ? id : committed.get(key);
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void putExisting(String key, Long id) {
+        committed.put(key, id);
+    }
+
+    void putCreated(String key, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.put(key, id);
+            createdIds.add(id);
+            return;
+        }
+        pending.put(key, id);
+        pendingCreatedIds.add(id);
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ImportLocationCache.this);
+                if (status == STATUS_COMMITTED) {
+                    committed.putAll(pending);
+                    createdIds.addAll(pendingCreatedIds);
+                }
+                pending.clear();
+                pendingCreatedIds.clear();
+            }
+        });
+    }
+}
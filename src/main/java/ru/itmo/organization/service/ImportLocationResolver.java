@@ -0,0 +1,95 @@
+package ru.itmo.organization.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itmo.organization.dto.ImportLocationDto;
+import ru.itmo.organization.repository.AdvisoryLockRepository;
+import ru.itmo.organization.repository.OrganizationBulkRepository;
+import ru.itmo.organization.repository.QueryCacheEvictor;
+
+@Service
+@RequiredArgsConstructor
+public class ImportLocationResolver {
+
+    private final OrganizationBulkRepository bulkRepository;
+    private final QueryCacheEvictor queryCacheEvictor;
+    private final AdvisoryLockRepository advisoryLockRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Resolution resolve(Collection<ImportLocationDto> towns, ImportLocationCache cache) {
+        Map<String, Long> resolved = new HashMap<>();
+        Map<String, ImportLocationDto> unresolved = new LinkedHashMap<>();
+        for (ImportLocationDto town : towns) {
+            String key = ImportLocationCache.key(town.getName());
+            if (resolved.containsKey(key) || unresolved.containsKey(key)) {
+                cache.recordHit();
+                continue;
+            }
+            Long id = cache.lookup(key);
+            if (id != null) {
+                cache.recordHit();
+                resolved.put(key, id);
+            } else {
+                cache.recordMiss();
+                unresolved.put(key, town);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return new Resolution(resolved, Map.of());
+        }
+
+        Map<String, Long> existing = bulkRepository.findLocationIdsByNames(unresolved.keySet());
+        existing.forEach((key, id) -> {
+            cache.putExisting(key, id);
+            resolved.put(key, id);
+        });
+
+        List<String> newKeys = new ArrayList<>();
+        for (String key : unresolved.keySet()) {
+            if (!existing.containsKey(key)) {
+                newKeys.add(key);
+            }
+        }
+        if (newKeys.isEmpty()) {
+            return new Resolution(resolved, Map.of());
+        }
+
+        advisoryLockRepository.lock(AdvisoryLockRepository.LOCATION_NAME, newKeys);
+        Map<String, Long> concurrent = bulkRepository.findLocationIdsByNames(newKeys);
+        if (!concurrent.isEmpty()) {
+            concurrent.forEach((key, id) -> {
+                cache.putExisting(key, id);
+                resolved.put(key, id);
+            });
+            newKeys.removeAll(concurrent.keySet());
+            if (newKeys.isEmpty()) {
+                return new Resolution(resolved, Map.of());
+            }
+        }
+
+        long[] ids = bulkRepository.allocateLocationIds(newKeys.size());
+        List<Object[]> rows = new ArrayList<>(newKeys.size());
+        Map<String, ImportLocationDto> created = new HashMap<>();
+        for (int i = 0; i < newKeys.size(); i++) {
+            String key = newKeys.get(i);
+            ImportLocationDto town = unresolved.get(key);
+            rows.add(new Object[] {ids[i], town.getX(), town.getY(), town.getZ(), town.getName()});
+            cache.putCreated(key, ids[i]);
+            resolved.put(key, ids[i]);
+            created.put(key, town);
+        }
+        bulkRepository.insertLocations(rows);
+        queryCacheEvictor.evictAfterCommit();
+        return new Resolution(resolved, created);
+    }
+
+    public record Resolution(Map<String, Long> ids, Map<String, ImportLocationDto> created) {}
+}
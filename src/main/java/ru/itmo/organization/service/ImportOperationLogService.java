@@ -1,11 +1,16 @@
 package ru.itmo.organization.service;
 
 import java.time.LocalDateTime;
-import lombok.RequiredArgsConstructor;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import ru.itmo.organization.config.ImportProperties;
+import ru.itmo.organization.model.ImportCommit;
+import ru.itmo.organization.model.ImportCommitMode;
 import ru.itmo.organization.model.ImportObjectType;
 import ru.itmo.organization.model.ImportOperation;
 import ru.itmo.organization.model.ImportStatus;
@@ -13,13 +18,28 @@ import ru.itmo.organization.repository.ImportOperationRepository;
 import ru.itmo.organization.service.storage.StorageTransaction;
 
 @Service
-@RequiredArgsConstructor
 public class ImportOperationLogService {
 
     private final ImportOperationRepository importOperationRepository;
+    private final ImportProperties importProperties;
+    private final String nodeId;
+
+    public ImportOperationLogService(
+            ImportOperationRepository importOperationRepository,
+            ImportProperties importProperties) {
+        this.importOperationRepository = importOperationRepository;
+        this.importProperties = importProperties;
+        String configured = importProperties.getNodeId();
+        this.nodeId = configured == null || configured.isBlank() ? UUID.randomUUID().toString() : configured.trim();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public ImportOperation startOperation(String username, ImportObjectType type, StorageTransaction storageTx) {
+    public ImportOperation startOperation(String username, ImportObjectType type, ImportCommitMode commitMode,
+            StorageTransaction storageTx) {
         ImportOperation operation = new ImportOperation();
         operation.setUsername(normalizeUsername(username));
         operation.setStartedAt(LocalDateTime.now());
@@ -28,9 +48,105 @@ public class ImportOperationLogService {
         operation.setStorageFileName(storageTx.originalFileName());
         operation.setStorageContentType(storageTx.contentType());
         operation.setStorageSize(storageTx.size());
+        operation.setStorageEncoding(storageTx.encoding().token());
+        operation.setProcessedCount(0);
+        operation.setCommitMode(commitMode == null ? ImportCommitMode.ATOMIC : commitMode);
+        operation.setLastCommittedIndex(0);
+        operation.setStagedBucket(storageTx.bucket());
+        operation.setStagedObject(storageTx.tempObjectName());
+        operation.setStagedFinalObject(storageTx.finalObjectName());
+        operation.setOwnerNode(nodeId);
+        operation.setLeaseExpiresAt(leaseExpiry());
         return importOperationRepository.save(operation);
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<ImportOperation> claimReclaimable(boolean includeOwn, int limit) {
+        List<ImportOperation> operations = importOperationRepository.lockReclaimable(
+                nodeId, includeOwn, LocalDateTime.now(), Math.max(1, limit));
+        LocalDateTime expiresAt = leaseExpiry();
+        for (ImportOperation operation : operations) {
+            operation.setOwnerNode(nodeId);
+            operation.setLeaseExpiresAt(expiresAt);
+        }
+        return operations;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void renewLeases(Collection<Long> operationIds) {
+        if (!operationIds.isEmpty()) {
+            importOperationRepository.renewLeases(operationIds, nodeId, leaseExpiry());
+        }
+    }
+
+    public void checkOwner(ImportOperation operation) {
+        if (!operation.isOwnedBy(nodeId)) {
+            throw new IllegalStateException("Импорт #" + operation.getId() + " выполняется другим экземпляром сервиса");
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markDataCommitted(Long operationId, int added) {
+        recordDataCommit(operationId, added);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDataCommit(Long operationId, int added) {
+        ImportOperation operation = importOperationRepository.findById(operationId).orElse(null);
+        if (operation == null) {
+            return;
+        }
+        checkOwner(operation);
+        ImportCommit commit = new ImportCommit();
+        commit.setOperationId(operationId);
+        commit.setAddedCount(added);
+        commit.setCommittedAt(LocalDateTime.now());
+        importOperationRepository.saveCommit(commit);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Integer committedCount(ImportOperation operation) {
+        if (operation.isChunked()) {
+            return operation.isDataCommitted() ? operation.getLastCommittedIndex() : null;
+        }
+        return importOperationRepository.findCommit(operation.getId())
+                .map(ImportCommit::getAddedCount)
+                .orElse(null);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateProgress(Long operationId, int processed, Integer total) {
+        importOperationRepository.findById(operationId).ifPresent(operation -> {
+            operation.setProcessedCount(processed);
+            operation.setTotalCount(total);
+            importOperationRepository.save(operation);
+        });
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markSuccess(Long operationId, StorageTransaction storageTx, int added,
+            ImportLocationCache locationCache) {
+        importOperationRepository.findById(operationId).ifPresent(operation -> {
+            applySuccess(operation, storageTx, added, locationCache);
+            importOperationRepository.deleteCommit(operationId);
+            importOperationRepository.deleteJournal(operationId);
+        });
+    }
+
+    private void applySuccess(ImportOperation operation, StorageTransaction storageTx, int added,
+            ImportLocationCache locationCache) {
+        operation.setStorageBucket(storageTx.bucket());
+        operation.setStorageObject(storageTx.finalObjectName());
+        operation.setStorageFileName(storageTx.originalFileName());
+        operation.setStorageContentType(storageTx.contentType());
+        operation.setStorageSize(storageTx.size());
+        operation.setStorageEncoding(storageTx.encoding().token());
+        operation.markSuccess(added);
+        operation.setLocationCacheHits(locationCache.hits());
+        operation.setLocationCacheMisses(locationCache.misses());
+        importOperationRepository.save(operation);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public ImportOperation createFailedOperation(String username, ImportObjectType type, MultipartFile file) {
         ImportOperation operation = new ImportOperation();
@@ -57,6 +173,10 @@ public class ImportOperationLogService {
         });
     }
 
+    private LocalDateTime leaseExpiry() {
+        return LocalDateTime.now().plus(importProperties.getLeaseDuration());
+    }
+
     private String normalizeUsername(String username) {
         if (username == null || username.isBlank()) {
             return "anonymous";
@@ -0,0 +1,90 @@
+package ru.itmo.organization.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+class ImportRecordReader implements Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final Class<?> recordType;
+    private boolean started;
+    private boolean finished;
+    private int readCount;
+
+    ImportRecordReader(ObjectMapper objectMapper, InputStream inputStream, Class<?> recordType) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(inputStream);
+        this.recordType = recordType;
+    }
+
+    void skip(int count) {
+        try {
+            start();
+            while (!finished && readCount < count) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    finished = true;
+                    break;
+                }
+                parser.skipChildren();
+                readCount++;
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Не удалось прочитать файл импорта: " + describe(ex), ex);
+        }
+    }
+
+    List<Object> nextChunk(int chunkSize) {
+        List<Object> chunk = new ArrayList<>(chunkSize);
+        try {
+            start();
+            while (!finished && chunk.size() < chunkSize) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    finished = true;
+                    break;
+                }
+                chunk.add(objectMapper.readValue(parser, recordType));
+                readCount++;
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Не удалось прочитать файл импорта (запись #" + (readCount + 1)
+                    + "): " + describe(ex), ex);
+        }
+        return chunk;
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Файл импорта должен содержать JSON-массив записей");
+            }
+        }
+    }
+
+    int countRecords() {
+        skip(Integer.MAX_VALUE);
+        return readCount;
+    }
+
+    private static String describe(IOException ex) {
+        return ex instanceof JsonProcessingException jsonEx ? jsonEx.getOriginalMessage() : ex.getMessage();
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package ru.itmo.organization.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import ru.itmo.organization.config.ImportProperties;
 import ru.itmo.organization.dto.ImportOperationDto;
-import ru.itmo.organization.dto.OrganizationDto;
 import ru.itmo.organization.exception.ResourceNotFoundException;
 import ru.itmo.organization.exception.StorageUnavailableException;
+import ru.itmo.organization.model.ImportCommitMode;
 import ru.itmo.organization.model.ImportObjectType;
 import ru.itmo.organization.model.ImportOperation;
 import ru.itmo.organization.repository.ImportOperationRepository;
+import ru.itmo.organization.service.storage.StagedUpload;
+import ru.itmo.organization.service.storage.StorageEncoding;
 import ru.itmo.organization.service.storage.StorageService;
+import ru.itmo.organization.service.storage.StorageStream;
 import ru.itmo.organization.service.storage.StorageTransaction;
 
 @Service
@@ -31,6 +42,11 @@ public class ImportService {
     private final StorageService storageService;
     private final ImportTransactionService importTransactionService;
     private final ImportOperationLogService importOperationLogService;
+    private final ImportJobExecutor importJobExecutor;
+    private final ImportProperties importProperties;
+    private final ParallelImportExecutor parallelImportExecutor;
+    private final ImportCompensationService compensationService;
+    private final Set<Long> activeOperations = ConcurrentHashMap.newKeySet();
 
     public ImportService(
             ImportOperationRepository importOperationRepository,
@@ -38,56 +54,96 @@ public class ImportService {
             ObjectMapper objectMapper,
             StorageService storageService,
             ImportTransactionService importTransactionService,
-            ImportOperationLogService importOperationLogService) {
+            ImportOperationLogService importOperationLogService,
+            ImportJobExecutor importJobExecutor,
+            ImportProperties importProperties,
+            ParallelImportExecutor parallelImportExecutor,
+            ImportCompensationService compensationService) {
         this.importOperationRepository = importOperationRepository;
         this.webSocketService = webSocketService;
         this.objectMapper = objectMapper;
         this.storageService = storageService;
         this.importTransactionService = importTransactionService;
         this.importOperationLogService = importOperationLogService;
+        this.importJobExecutor = importJobExecutor;
+        this.importProperties = importProperties;
+        this.parallelImportExecutor = parallelImportExecutor;
+        this.compensationService = compensationService;
     }
 
     public ImportOperationDto importObjects(
             MultipartFile file,
             ImportObjectType objectType,
+            ImportCommitMode commitMode,
             Authentication authentication) {
+        return startImport(objectType, commitMode, authentication, file, resolvedType -> {
+            if (file == null || file.isEmpty()) {
+                throw new IllegalArgumentException("Файл для импорта пуст");
+            }
+            return new StagedUpload<>(storageService.stageImportFile(file), null);
+        });
+    }
+
+    public ImportOperationDto importStream(
+            InputStream body,
+            String fileName,
+            String contentType,
+            long contentLength,
+            ImportObjectType objectType,
+            ImportCommitMode commitMode,
+            Authentication authentication) {
+        return startImport(objectType, commitMode, authentication, null, resolvedType -> {
+            StagedUpload<Integer> upload = storageService.stageImportStream(
+                    body, fileName, contentType, contentLength, stream -> countRecords(stream, resolvedType));
+            if (upload.result() == 0) {
+                storageService.rollback(upload.transaction());
+                throw new IllegalArgumentException("Файл не содержит записей для импорта");
+            }
+            return upload;
+        });
+    }
+
+    private ImportOperationDto startImport(
+            ImportObjectType objectType,
+            ImportCommitMode commitMode,
+            Authentication authentication,
+            MultipartFile file,
+            Function<ImportObjectType, StagedUpload<Integer>> stager) {
 
         UserContext userContext = toUserContext(authentication);
+        ImportObjectType resolvedType = objectType == null ? ImportObjectType.ORGANIZATION : objectType;
+        ImportCommitMode resolvedMode = commitMode == null ? ImportCommitMode.ATOMIC : commitMode;
         StorageTransaction storageTx = null;
         ImportOperation operation = null;
         try {
-            storageTx = storageService.stageImportFile(file);
-            operation = importOperationLogService.startOperation(userContext.username(), objectType, storageTx);
-
-            List<?> records = parseFile(file, objectType);
-            List<?> created = importTransactionService.executeImport(
-                    operation == null ? null : operation.getId(),
-                    records,
-                    objectType,
-                    storageTx);
+            StagedUpload<Integer> staged = stager.apply(resolvedType);
+            storageTx = staged.transaction();
+            operation = importOperationLogService.startOperation(
+                    userContext.username(), resolvedType, resolvedMode, storageTx);
 
+            Long operationId = operation.getId();
+            StorageTransaction stagedFile = storageTx;
+            Integer total = staged.result();
+            submit(operationId, () -> runImport(
+                    operationId, resolvedType, resolvedMode, stagedFile, 0, total, new ImportLocationCache()));
             webSocketService.broadcastImportsUpdate();
-            if (created == null) {
-                throw new IllegalStateException("Импорт не выполнен");
-            }
-            broadcastByType(objectType, !created.isEmpty());
-            return ImportOperationDto.fromEntity(
-                    importOperationRepository.findById(operation.getId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Операция импорта не найдена")),
-                    created.stream()
-                            .filter(OrganizationDto.class::isInstance)
-                            .map(OrganizationDto.class::cast)
-                            .toList());
+            return ImportOperationDto.fromEntity(operation);
+        } catch (TaskRejectedException ex) {
+            storageService.rollback(storageTx);
+            safeMarkFailed(operation, "Очередь импорта заполнена");
+            webSocketService.broadcastImportsUpdate();
+            log.warn("Импорт отклонен: очередь заполнена (user={}, type={})", userContext.username(), resolvedType);
+            throw ex;
         } catch (Exception ex) {
             storageService.rollback(storageTx);
             safeMarkFailed(operation, extractMessage(ex));
             if (operation == null && ex instanceof StorageUnavailableException) {
-                operation = importOperationLogService.createFailedOperation(userContext.username(), objectType, file);
+                operation = importOperationLogService.createFailedOperation(userContext.username(), resolvedType, file);
             }
             webSocketService.broadcastImportsUpdate();
             if (ex instanceof StorageUnavailableException) {
                 log.error("Импорт не выполнен: хранилище недоступно (user={}, type={})",
-                        userContext.username(), objectType, ex);
+                        userContext.username(), resolvedType, ex);
                 throw (StorageUnavailableException) ex;
             }
             if (ex instanceof IllegalArgumentException) {
@@ -97,6 +153,198 @@ public class ImportService {
         }
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedImports() {
+        recoverImports(true);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.imports.heartbeat-interval:30s}",
+            fixedDelayString = "${app.imports.heartbeat-interval:30s}")
+    public void maintainLeases() {
+        try {
+            importOperationLogService.renewLeases(Set.copyOf(activeOperations));
+        } catch (Exception ex) {
+            log.warn("Не удалось продлить аренду импортов {}: {}", activeOperations, ex.getMessage());
+        }
+        recoverImports(false);
+    }
+
+    private void recoverImports(boolean includeOwn) {
+        List<ImportOperation> claimed;
+        try {
+            claimed = importOperationLogService.claimReclaimable(includeOwn, importProperties.getQueueCapacity());
+        } catch (Exception ex) {
+            log.warn("Не удалось получить прерванные импорты: {}", ex.getMessage());
+            return;
+        }
+        for (ImportOperation operation : claimed) {
+            try {
+                recover(operation);
+            } catch (Exception ex) {
+                log.warn("Не удалось восстановить импорт #{}: {}", operation.getId(), extractMessage(ex));
+            }
+        }
+        if (!claimed.isEmpty()) {
+            webSocketService.broadcastImportsUpdate();
+        }
+    }
+
+    private void recover(ImportOperation operation) {
+        Long operationId = operation.getId();
+        StorageTransaction storageTx = toStagedFile(operation);
+        ImportLocationCache locationCache = new ImportLocationCache(
+                operation.getLocationCacheHits() == null ? 0 : operation.getLocationCacheHits(),
+                operation.getLocationCacheMisses() == null ? 0 : operation.getLocationCacheMisses());
+        Integer committedCount = importOperationLogService.committedCount(operation);
+        if (storageTx != null && committedCount != null) {
+            if (storageService.exists(storageTx.bucket(), storageTx.tempObjectName())) {
+                storageService.commit(storageTx);
+            }
+            importOperationLogService.markSuccess(operationId, storageTx, committedCount, locationCache);
+            broadcastByType(operation.getObjectType(), true);
+            log.info("Импорт #{} был выполнен до перезапуска, статус восстановлен", operationId);
+            return;
+        }
+        if (!operation.isChunked() || storageTx == null) {
+            compensationService.compensate(operationId);
+            storageService.rollback(storageTx);
+            safeMarkFailed(operationId, "Импорт прерван перезапуском сервиса");
+            return;
+        }
+        if (!storageService.exists(storageTx.bucket(), storageTx.tempObjectName())) {
+            safeMarkFailed(operationId, "Файл прерванного импорта не найден в хранилище");
+            return;
+        }
+        int resumeFrom = operation.getLastCommittedIndex() == null ? 0 : operation.getLastCommittedIndex();
+        try {
+            submit(operationId, () -> runImport(operationId, operation.getObjectType(),
+                    ImportCommitMode.CHUNKED, storageTx, resumeFrom, operation.getTotalCount(), locationCache));
+            log.info("Импорт #{} будет продолжен с записи #{}", operationId, resumeFrom + 1);
+        } catch (TaskRejectedException ex) {
+            safeMarkFailed(operationId, "Очередь импорта заполнена");
+        }
+    }
+
+    private void submit(Long operationId, Runnable job) {
+        activeOperations.add(operationId);
+        try {
+            importJobExecutor.submit(() -> {
+                try {
+                    job.run();
+                } finally {
+                    activeOperations.remove(operationId);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            activeOperations.remove(operationId);
+            throw ex;
+        }
+    }
+
+    private void runImport(Long operationId, ImportObjectType objectType, ImportCommitMode commitMode,
+            StorageTransaction storageTx, int resumeFrom, Integer knownTotal, ImportLocationCache locationCache) {
+        boolean committed = false;
+        try {
+            int total;
+            if (knownTotal != null) {
+                total = knownTotal;
+            } else {
+                try (ImportRecordReader counter = openReader(storageTx, objectType)) {
+                    total = counter.countRecords();
+                }
+            }
+            importOperationLogService.updateProgress(operationId, resumeFrom, total);
+            webSocketService.broadcastImportsUpdate();
+
+            int imported;
+            try (ImportRecordReader reader = openReader(storageTx, objectType)) {
+                if (commitMode == ImportCommitMode.CHUNKED) {
+                    imported = importInChunks(operationId, reader, objectType, resumeFrom, locationCache);
+                    storageService.commit(storageTx);
+                } else if (parallelImportExecutor.isEnabled()) {
+                    imported = parallelImportExecutor.executeImport(operationId, reader, objectType, locationCache,
+                            processed -> reportProgress(operationId, processed, total));
+                    importOperationLogService.markDataCommitted(operationId, imported);
+                    committed = true;
+                    storageService.commit(storageTx);
+                } else {
+                    imported = importTransactionService.executeImport(operationId, reader, objectType, storageTx,
+                            locationCache, processed -> reportProgress(operationId, processed, total));
+                }
+            }
+            committed = true;
+            importOperationLogService.markSuccess(operationId, storageTx, imported, locationCache);
+            webSocketService.broadcastImportsUpdate();
+            broadcastByType(objectType, imported > 0);
+        } catch (Exception ex) {
+            if (committed) {
+                log.error("Импорт #{} выполнен, но его статус не сохранен", operationId, ex);
+                return;
+            }
+            if (!compensate(operationId)) {
+                return;
+            }
+            storageService.rollback(storageTx);
+            safeMarkFailed(operationId, extractMessage(ex));
+            webSocketService.broadcastImportsUpdate();
+            log.warn("Импорт #{} не выполнен: {}", operationId, extractMessage(ex));
+        }
+    }
+
+    private int importInChunks(Long operationId, ImportRecordReader reader, ImportObjectType objectType,
+            int resumeFrom, ImportLocationCache locationCache) {
+        int chunkSize = Math.max(1, importProperties.getChunkSize());
+        reader.skip(resumeFrom);
+        int lastCommittedIndex = resumeFrom;
+        List<Object> chunk = reader.nextChunk(chunkSize);
+        while (!chunk.isEmpty()) {
+            lastCommittedIndex = importTransactionService.commitChunk(
+                    operationId, chunk, objectType, lastCommittedIndex + 1, locationCache);
+            webSocketService.broadcastImportsUpdate();
+            broadcastByType(objectType, true);
+            chunk = reader.nextChunk(chunkSize);
+        }
+        if (lastCommittedIndex == 0) {
+            throw new IllegalArgumentException("Файл не содержит записей для импорта");
+        }
+        return lastCommittedIndex;
+    }
+
+    private boolean compensate(Long operationId) {
+        try {
+            compensationService.compensate(operationId);
+            return true;
+        } catch (Exception ex) {
+            log.error("Не удалось откатить зафиксированную часть импорта #{}, он будет откачен при восстановлении",
+                    operationId, ex);
+            return false;
+        }
+    }
+
+    private StorageTransaction toStagedFile(ImportOperation operation) {
+        if (operation.getStagedBucket() == null || operation.getStagedObject() == null) {
+            return null;
+        }
+        return new StorageTransaction(
+                operation.getStagedBucket(),
+                operation.getStagedObject(),
+                operation.getStagedFinalObject(),
+                operation.getStorageFileName(),
+                operation.getStorageSize() == null ? -1 : operation.getStorageSize(),
+                operation.getStorageContentType(),
+                StorageEncoding.from(operation.getStorageEncoding()));
+    }
+
+    private void reportProgress(Long operationId, int processed, int total) {
+        try {
+            importOperationLogService.updateProgress(operationId, processed, total);
+            webSocketService.broadcastImportsUpdate();
+        } catch (Exception ex) {
+            log.warn("Не удалось сохранить прогресс импорта #{}: {}", operationId, ex.getMessage());
+        }
+    }
+
     public List<ImportOperationDto> listOperations(Authentication authentication) {
         UserContext userContext = toUserContext(authentication);
         List<ImportOperation> operations = userContext.admin()
@@ -132,33 +380,55 @@ public class ImportService {
     }
 
     private void safeMarkFailed(ImportOperation operation, String message) {
-        if (operation == null || operation.getId() == null) {
+        if (operation == null) {
+            return;
+        }
+        safeMarkFailed(operation.getId(), message);
+    }
+
+    private void safeMarkFailed(Long operationId, String message) {
+        if (operationId == null) {
             return;
         }
         try {
-            importOperationLogService.markFailed(operation.getId(), message);
+            importOperationLogService.markFailed(operationId, message);
         } catch (Exception ex) {
             log.warn("Не удалось зафиксировать статус ошибки импорта: {}", ex.getMessage());
         }
     }
 
-    private List<?> parseFile(MultipartFile file, ImportObjectType type) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("Файл для импорта пуст");
-        }
+    private ImportRecordReader openReader(StorageTransaction storageTx, ImportObjectType type) {
+        StorageStream stream = storageService.load(
+                storageTx.bucket(),
+                storageTx.tempObjectName(),
+                storageTx.originalFileName(),
+                storageTx.contentType(),
+                storageTx.encoding());
         try {
-            ImportObjectType targetType = type == null ? ImportObjectType.ORGANIZATION : type;
-            return switch (targetType) {
-                case ORGANIZATION -> objectMapper.readValue(file.getInputStream(), new TypeReference<List<ru.itmo.organization.dto.ImportOrganizationDto>>() {});
-                case COORDINATES -> objectMapper.readValue(file.getInputStream(), new TypeReference<List<ru.itmo.organization.dto.ImportCoordinatesDto>>() {});
-                case LOCATION -> objectMapper.readValue(file.getInputStream(), new TypeReference<List<ru.itmo.organization.dto.ImportLocationDto>>() {});
-                case ADDRESS -> objectMapper.readValue(file.getInputStream(), new TypeReference<List<ru.itmo.organization.dto.ImportAddressDto>>() {});
-            };
+            return new ImportRecordReader(objectMapper, stream.inputStream(), recordType(type));
         } catch (IOException e) {
             throw new IllegalArgumentException("Не удалось прочитать файл импорта: " + e.getMessage(), e);
         }
     }
 
+    private int countRecords(InputStream stream, ImportObjectType type) {
+        try (ImportRecordReader counter = new ImportRecordReader(objectMapper, stream, recordType(type))) {
+            return counter.countRecords();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Не удалось прочитать файл импорта: " + e.getMessage(), e);
+        }
+    }
+
+    private static Class<?> recordType(ImportObjectType type) {
+        ImportObjectType targetType = type == null ? ImportObjectType.ORGANIZATION : type;
+        return switch (targetType) {
+            case ORGANIZATION -> ru.itmo.organization.dto.ImportOrganizationDto.class;
+            case COORDINATES -> ru.itmo.organization.dto.ImportCoordinatesDto.class;
+            case LOCATION -> ru.itmo.organization.dto.ImportLocationDto.class;
+            case ADDRESS -> ru.itmo.organization.dto.ImportAddressDto.class;
+        };
+    }
+
     private String extractMessage(Exception ex) {
         String message = ex.getMessage();
         if (message != null && !message.isBlank()) {
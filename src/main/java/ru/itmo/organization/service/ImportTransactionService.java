@@ -1,10 +1,18 @@
 package ru.itmo.organization.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.util.List;
+import java.util.function.IntConsumer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.itmo.organization.config.ImportProperties;
 import ru.itmo.organization.exception.ResourceNotFoundException;
 import ru.itmo.organization.model.ImportObjectType;
 import ru.itmo.organization.model.ImportOperation;
@@ -19,30 +27,58 @@ public class ImportTransactionService {
     private final ImportOperationRepository importOperationRepository;
     private final ImportExecutorService importExecutorService;
     private final StorageService storageService;
+    private final ImportProperties properties;
+    private final ImportOperationLogService importOperationLogService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
-    public List<?> executeImport(
+    public int executeImport(
             Long operationId,
-            List<?> records,
+            ImportRecordReader reader,
             ImportObjectType objectType,
-            StorageTransaction storageTx) {
-        if (operationId == null) {
-            throw new ResourceNotFoundException("Операция импорта не найдена");
+            StorageTransaction storageTx,
+            ImportLocationCache locationCache,
+            IntConsumer progressListener) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int importedCount = 0;
+        List<Object> chunk = reader.nextChunk(chunkSize);
+        while (!chunk.isEmpty()) {
+            List<?> created = importExecutorService.executeChunk(
+                    chunk, objectType, importedCount + 1, locationCache);
+            importedCount += created.size();
+            entityManager.flush();
+            entityManager.clear();
+            progressListener.accept(importedCount);
+            chunk = reader.nextChunk(chunkSize);
+        }
+        if (importedCount == 0) {
+            throw new IllegalArgumentException("Файл не содержит записей для импорта");
         }
-
-        ImportOperation managed = importOperationRepository.findById(operationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Операция импорта не найдена"));
-
-        List<?> imported = importExecutorService.executeImport(records, objectType);
-        managed.setStorageBucket(storageTx.bucket());
-        managed.setStorageObject(storageTx.finalObjectName());
-        managed.setStorageFileName(storageTx.originalFileName());
-        managed.setStorageContentType(storageTx.contentType());
-        managed.setStorageSize(storageTx.size());
-        managed.markSuccess(imported.size());
-        importOperationRepository.save(managed);
 
         storageService.commit(storageTx);
-        return imported;
+        importOperationLogService.recordDataCommit(operationId, importedCount);
+        return importedCount;
+    }
+
+    @Retryable(
+            retryFor = {PessimisticLockingFailureException.class, TransactionSystemException.class},
+            maxAttempts = 5,
+            backoff = @Backoff(delay = 50, multiplier = 2.0, maxDelay = 1000, random = true))
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public int commitChunk(Long operationId, List<Object> chunk, ImportObjectType objectType, int firstIndex,
+            ImportLocationCache locationCache) {
+        ImportOperation operation = importOperationRepository.findById(operationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Операция импорта не найдена"));
+        importOperationLogService.checkOwner(operation);
+        List<?> created = importExecutorService.executeChunk(chunk, objectType, firstIndex, locationCache);
+        int lastCommittedIndex = firstIndex - 1 + created.size();
+        operation.setLastCommittedIndex(lastCommittedIndex);
+        operation.setProcessedCount(lastCommittedIndex);
+        operation.setLocationCacheHits(locationCache.hits());
+        operation.setLocationCacheMisses(locationCache.misses());
+        importOperationRepository.save(operation);
+        return lastCommittedIndex;
     }
 }
@@ -3,6 +3,7 @@ package ru.itmo.organization.service;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.dao.PessimisticLockingFailureException;
@@ -12,6 +13,7 @@ import org.springframework.transaction.TransactionSystemException;
 import ru.itmo.organization.dto.LocationDto;
 import ru.itmo.organization.mapper.ReferenceMapper;
 import ru.itmo.organization.exception.ResourceNotFoundException;
+import ru.itmo.organization.model.ChangeKind;
 import ru.itmo.organization.repository.LocationRepository;
 
 import org.springframework.stereotype.Service;
@@ -29,7 +31,8 @@ public class LocationService {
 
     private final LocationRepository locationRepository;
     private final ReferenceMapper mapper;
-    private final WebSocketService webSocketService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImportScope importScope;
 
     @Transactional(readOnly = true)
     public List<LocationDto> findAll() {
@@ -59,7 +62,7 @@ public class LocationService {
             backoff = @Backoff(delay = 50, multiplier = 2.0, maxDelay = 1000, random = true))
     @Transactional(isolation = Isolation.SERIALIZABLE)
     public LocationDto create(@Valid @UniqueLocation LocationDto dto) {
-        return saveAndBroadcast(mapper.toEntity(dto));
+        return saveAndBroadcast(mapper.toEntity(dto), ChangeKind.CREATED, false);
     }
 
     @Retryable(
@@ -73,7 +76,7 @@ public class LocationService {
         existing.setX(dto.getX());
         existing.setY(dto.getY());
         existing.setZ(dto.getZ());
-        return saveAndBroadcast(existing);
+        return saveAndBroadcast(existing, ChangeKind.UPDATED, locationRepository.isReferenced(id));
     }
 
     public void delete(Long id) {
@@ -85,12 +88,17 @@ public class LocationService {
         }
         
         locationRepository.delete(existing);
-        webSocketService.broadcastLocationsUpdate();
+        eventPublisher.publishEvent(new ReferenceChangedEvent(
+                ReferenceChangedEvent.Reference.LOCATION, ChangeKind.DELETED, id, false));
     }
 
-    private LocationDto saveAndBroadcast(ru.itmo.organization.model.Location entity) {
+    private LocationDto saveAndBroadcast(ru.itmo.organization.model.Location entity, ChangeKind kind,
+            boolean organizationsAffected) {
         var saved = locationRepository.save(entity);
-        webSocketService.broadcastLocationsUpdate();
+        if (!importScope.isActive()) {
+            eventPublisher.publishEvent(new ReferenceChangedEvent(
+                    ReferenceChangedEvent.Reference.LOCATION, kind, saved.getId(), organizationsAffected));
+        }
         return mapper.toDto(saved);
     }
 }
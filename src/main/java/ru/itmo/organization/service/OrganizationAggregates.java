@@ -0,0 +1,336 @@
+package ru.itmo.organization.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itmo.organization.config.AggregatesProperties;
+import ru.itmo.organization.model.OrganizationType;
+import ru.itmo.organization.repository.OrganizationRepository;
+
+@Component
+@Slf4j
+public class OrganizationAggregates {
+
+    private static final long RETRY_BACKOFF_MILLIS = 50;
+
+    private final OrganizationRepository organizationRepository;
+    private final AggregatesProperties properties;
+    private final TransactionTemplate readTemplate;
+    private final TaskScheduler taskScheduler;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, LongAdder> ratings = new ConcurrentHashMap<>();
+    private final Map<OrganizationType, LongAdder> types = new EnumMap<>(OrganizationType.class);
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger committing = new AtomicInteger();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final MeterRegistry meterRegistry;
+    private final Counter drift;
+    private volatile boolean ready;
+    private volatile long reconciledAt;
+
+    public OrganizationAggregates(
+            OrganizationRepository organizationRepository,
+            AggregatesProperties properties,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry) {
+        this.organizationRepository = organizationRepository;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+        for (OrganizationType type : OrganizationType.values()) {
+            types.put(type, new LongAdder());
+        }
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        drift = Counter.builder("organization.aggregates.drift")
+                .description("Корзины агрегатов, исправленные сверкой с БД")
+                .register(meterRegistry);
+        Gauge.builder("organization.aggregates.ready", this, aggregates -> aggregates.isReady() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isEnabled()) {
+            taskScheduler.schedule(this::reconcile, Instant.now());
+        }
+    }
+
+    public boolean isReady() {
+        return ready && properties.isEnabled();
+    }
+
+    public Map<Integer, Long> ratingCounts() {
+        if (!isReady() || !isFresh()) {
+            return organizationRepository.countByRatingGrouped();
+        }
+        Map<Integer, Long> counts = new TreeMap<>();
+        ratings.forEach((rating, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                counts.put(rating, count);
+            }
+        });
+        return counts;
+    }
+
+    public long countByType(OrganizationType type) {
+        if (!isReady() || type == null || !isFresh()) {
+            return organizationRepository.countByType(type);
+        }
+        return types.get(type).sum();
+    }
+
+    public void increment(Integer rating, OrganizationType type) {
+        record(rating, type, 1);
+    }
+
+    public void decrement(Integer rating, OrganizationType type) {
+        record(rating, type, -1);
+    }
+
+    public void move(Integer fromRating, OrganizationType fromType, Integer toRating, OrganizationType toType) {
+        if (Objects.equals(fromRating, toRating) && fromType == toType) {
+            return;
+        }
+        record(fromRating, fromType, -1);
+        record(toRating, toType, 1);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.aggregates.check-interval:5m}",
+            fixedDelayString = "${app.aggregates.check-interval:5m}")
+    public void check() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!ready) {
+            reconcile();
+            return;
+        }
+        CheckResult result;
+        try {
+            result = compareAndReset(properties.getReconcileAttempts());
+        } catch (RuntimeException ex) {
+            log.warn("Не удалось сверить агрегаты организаций с БД: {}", ex.getMessage());
+            result = CheckResult.FAILED;
+        }
+        if (result == CheckResult.DRIFT) {
+            log.warn("Агрегаты организаций расходились с БД, значения исправлены");
+        }
+        checks(result).increment();
+    }
+
+    private void reconcile() {
+        long started = System.nanoTime();
+        CheckResult result;
+        try {
+            result = compareAndReset(properties.getReconcileAttempts());
+        } catch (RuntimeException ex) {
+            log.warn("Не удалось загрузить агрегаты организаций из БД: {}", ex.getMessage());
+            result = CheckResult.FAILED;
+        }
+        if (result == CheckResult.SKIPPED || result == CheckResult.FAILED) {
+            checks(result).increment();
+            log.warn("Агрегаты организаций не загружены, статистика считается в БД до следующей проверки");
+            return;
+        }
+        ready = true;
+        log.info("Агрегаты организаций загружены за {} мс", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private boolean isFresh() {
+        Duration maxStaleness = properties.getMaxStaleness();
+        if (maxStaleness == null || System.nanoTime() - reconciledAt <= maxStaleness.toNanos()) {
+            return true;
+        }
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        CheckResult result;
+        try {
+            result = compareAndReset(1);
+        } catch (RuntimeException ex) {
+            log.warn("Не удалось обновить агрегаты организаций из БД: {}", ex.getMessage());
+            result = CheckResult.FAILED;
+        } finally {
+            refreshing.set(false);
+        }
+        checks(result).increment();
+        return result == CheckResult.CONSISTENT || result == CheckResult.DRIFT;
+    }
+
+    private CheckResult compareAndReset(int maxAttempts) {
+        int attempts = Math.max(1, maxAttempts);
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            long expectedGeneration = generation.get();
+            if (committing.get() == 0) {
+                Counts actual = readTemplate.execute(status -> new Counts(
+                        organizationRepository.countByRatingGrouped(),
+                        organizationRepository.countByTypeGrouped()));
+                lock.writeLock().lock();
+                try {
+                    if (generation.get() == expectedGeneration) {
+                        return reset(actual);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            if (attempt == attempts) {
+                break;
+            }
+            try {
+                Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return CheckResult.SKIPPED;
+    }
+
+    private CheckResult reset(Counts actual) {
+        int drifted = reset(ratings, actual.ratings()) + reset(types, actual.types());
+        reconciledAt = System.nanoTime();
+        if (drifted == 0) {
+            return CheckResult.CONSISTENT;
+        }
+        if (ready) {
+            drift.increment(drifted);
+        }
+        return CheckResult.DRIFT;
+    }
+
+    private static <K> int reset(Map<K, LongAdder> counters, Map<K, Long> actual) {
+        int drifted = 0;
+        for (Map.Entry<K, LongAdder> entry : counters.entrySet()) {
+            long expected = actual.getOrDefault(entry.getKey(), 0L);
+            if (entry.getValue().sum() != expected) {
+                drifted++;
+                entry.getValue().reset();
+                entry.getValue().add(expected);
+            }
+        }
+        for (Map.Entry<K, Long> entry : actual.entrySet()) {
+            if (!counters.containsKey(entry.getKey()) && entry.getValue() != 0) {
+                drifted++;
+                LongAdder adder = new LongAdder();
+                adder.add(entry.getValue());
+                counters.put(entry.getKey(), adder);
+            }
+        }
+        return drifted;
+    }
+
+    private void record(Integer rating, OrganizationType type, long delta) {
+        if (!properties.isEnabled() || (rating == null && type == null)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Delta immediate = new Delta();
+            immediate.add(rating, type, delta);
+            apply(immediate);
+            return;
+        }
+        Object resource = TransactionSynchronizationManager.getResource(this);
+        if (resource instanceof Delta pending) {
+            pending.add(rating, type, delta);
+            return;
+        }
+        Delta pending = new Delta();
+        pending.add(rating, type, delta);
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                pending.committing = true;
+                committing.incrementAndGet();
+                generation.incrementAndGet();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrganizationAggregates.this);
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(pending);
+                    }
+                } finally {
+                    if (pending.committing) {
+                        generation.incrementAndGet();
+                        committing.decrementAndGet();
+                    }
+                }
+            }
+        });
+    }
+
+    private void apply(Delta delta) {
+        lock.readLock().lock();
+        try {
+            delta.ratings.forEach((rating, value) ->
+                    ratings.computeIfAbsent(rating, key -> new LongAdder()).add(value));
+            delta.types.forEach((type, value) -> types.get(type).add(value));
+        } finally {
+            generation.incrementAndGet();
+            lock.readLock().unlock();
+        }
+    }
+
+    private Counter checks(CheckResult result) {
+        return Counter.builder("organization.aggregates.checks")
+                .tag("result", result.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    public enum CheckResult {
+        CONSISTENT,
+        DRIFT,
+        SKIPPED,
+        FAILED
+    }
+
+    private record Counts(Map<Integer, Long> ratings, Map<OrganizationType, Long> types) {}
+
+    private static final class Delta {
+        private final Map<Integer, Long> ratings = new HashMap<>();
+        private final Map<OrganizationType, Long> types = new EnumMap<>(OrganizationType.class);
+        private boolean committing;
+
+        private void add(Integer rating, OrganizationType type, long delta) {
+            if (rating != null) {
+                ratings.merge(rating, delta, Long::sum);
+            }
+            if (type != null) {
+                types.merge(type, delta, Long::sum);
+            }
+        }
+    }
+}
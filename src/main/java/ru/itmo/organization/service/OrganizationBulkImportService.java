@@ -0,0 +1,209 @@
+package ru.itmo.organization.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itmo.organization.dto.AddressDto;
+import ru.itmo.organization.dto.CoordinatesDto;
+import ru.itmo.organization.dto.ImportAddressDto;
+import ru.itmo.organization.dto.ImportCoordinatesDto;
+import ru.itmo.organization.dto.ImportLocationDto;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.dto.LocationDto;
+import ru.itmo.organization.dto.OrganizationDto;
+import ru.itmo.organization.repository.AdvisoryLockRepository;
+import ru.itmo.organization.repository.OrganizationBulkRepository;
+import ru.itmo.organization.repository.OrganizationCountCache;
+import ru.itmo.organization.repository.OrganizationResultCache;
+import ru.itmo.organization.repository.QueryCacheEvictor;
+import ru.itmo.organization.search.OrganizationSearchIndex;
+import ru.itmo.organization.search.SearchDocument;
+
+@Service
+@RequiredArgsConstructor
+public class OrganizationBulkImportService {
+
+    private final OrganizationBulkRepository bulkRepository;
+    private final Validator validator;
+    private final OrganizationCountCache countCache;
+    private final OrganizationResultCache resultCache;
+    private final OrganizationAggregates aggregates;
+    private final OrganizationSearchIndex searchIndex;
+    private final QueryCacheEvictor queryCacheEvictor;
+    private final ImportLocationResolver locationResolver;
+    private final AdvisoryLockRepository advisoryLockRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OrganizationDto> importChunk(List<?> records, int[] recordNumbers,
+            ImportLocationCache locationCache) {
+        List<ImportOrganizationDto> organizations = new ArrayList<>(records.size());
+        Set<String> chunkFullNames = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            ImportOrganizationDto dto = (ImportOrganizationDto) records.get(i);
+            int index = recordNumbers[i];
+            validate(dto, index);
+            String fullName = normalizeFullName(dto.getFullName());
+            if (fullName != null && !chunkFullNames.add(fullName)) {
+                throw duplicateFullName(index);
+            }
+            organizations.add(dto);
+        }
+
+        advisoryLockRepository.lock(AdvisoryLockRepository.ORGANIZATION_FULL_NAME, chunkFullNames);
+        Set<String> existing = bulkRepository.findExistingFullNames(chunkFullNames);
+        if (!existing.isEmpty()) {
+            for (int i = 0; i < organizations.size(); i++) {
+                if (existing.contains(normalizeFullName(organizations.get(i).getFullName()))) {
+                    throw duplicateFullName(recordNumbers[i]);
+                }
+            }
+        }
+
+        return insert(organizations, locationCache);
+    }
+
+    private List<OrganizationDto> insert(List<ImportOrganizationDto> organizations,
+            ImportLocationCache locationCache) {
+        List<ImportLocationDto> towns = new ArrayList<>(organizations.size() * 2);
+        for (ImportOrganizationDto dto : organizations) {
+            towns.add(dto.getPostalAddress().getTown());
+            if (dto.getOfficialAddress() != null) {
+                towns.add(dto.getOfficialAddress().getTown());
+            }
+        }
+        int addressCount = towns.size();
+        ImportLocationResolver.Resolution locations = locationResolver.resolve(towns, locationCache);
+        long[] coordinatesIds = bulkRepository.allocateCoordinatesIds(organizations.size());
+        long[] addressIds = bulkRepository.allocateAddressIds(addressCount);
+        long[] organizationIds = bulkRepository.allocateOrganizationIds(organizations.size());
+
+        List<Object[]> coordinatesRows = new ArrayList<>(organizations.size());
+        List<Object[]> addressRows = new ArrayList<>(addressCount);
+        List<Object[]> organizationRows = new ArrayList<>(organizations.size());
+        List<OrganizationDto> created = new ArrayList<>(organizations.size());
+        List<SearchDocument> documents = new ArrayList<>(organizations.size());
+        LocalDate creationDate = LocalDate.now();
+
+        int addressIndex = 0;
+        for (int i = 0; i < organizations.size(); i++) {
+            ImportOrganizationDto dto = organizations.get(i);
+            long organizationId = organizationIds[i];
+            ImportCoordinatesDto coordinates = dto.getCoordinates();
+            coordinatesRows.add(new Object[] {coordinatesIds[i], coordinates.getX(), coordinates.getY()});
+
+            AddressDto postalAddress = addressRow(dto.getPostalAddress(), addressIds[addressIndex],
+                    locations, addressRows);
+            addressIndex++;
+            AddressDto officialAddress = null;
+            if (dto.getOfficialAddress() != null) {
+                officialAddress = addressRow(dto.getOfficialAddress(), addressIds[addressIndex],
+                        locations, addressRows);
+                addressIndex++;
+            }
+
+            organizationRows.add(new Object[] {
+                    organizationId,
+                    dto.getName(),
+                    coordinatesIds[i],
+                    creationDate,
+                    officialAddress == null ? null : officialAddress.getId(),
+                    dto.getAnnualTurnover(),
+                    dto.getEmployeesCount(),
+                    dto.getRating(),
+                    dto.getFullName(),
+                    dto.getType().name(),
+                    postalAddress.getId()
+            });
+
+            OrganizationDto result = new OrganizationDto();
+            result.setId(organizationId);
+            result.setName(dto.getName());
+            result.setCreationDate(creationDate);
+            result.setAnnualTurnover(dto.getAnnualTurnover());
+            result.setEmployeesCount(dto.getEmployeesCount());
+            result.setRating(dto.getRating());
+            result.setFullName(dto.getFullName());
+            result.setType(dto.getType());
+            result.setCoordinatesId(coordinatesIds[i]);
+            result.setCoordinates(new CoordinatesDto(coordinatesIds[i], coordinates.getX(), coordinates.getY(), null));
+            result.setPostalAddressId(postalAddress.getId());
+            result.setPostalAddress(postalAddress);
+            result.setOfficialAddressId(officialAddress == null ? null : officialAddress.getId());
+            result.setOfficialAddress(officialAddress);
+            created.add(result);
+            aggregates.increment(dto.getRating(), dto.getType());
+
+            documents.add(new SearchDocument(organizationId, dto.getName(), dto.getFullName(),
+                    postalAddress.getId(), postalAddress.getZipCode(), postalAddress.getTownId(),
+                    postalAddress.getTown().getName()));
+        }
+
+        bulkRepository.insertCoordinates(coordinatesRows);
+        bulkRepository.insertAddresses(addressRows);
+        bulkRepository.insertOrganizations(organizationRows);
+
+        countCache.invalidate();
+        resultCache.invalidate();
+        documents.forEach(searchIndex::indexAfterCommit);
+        queryCacheEvictor.evictAfterCommit();
+        return created;
+    }
+
+    private AddressDto addressRow(ImportAddressDto address, long addressId,
+            ImportLocationResolver.Resolution locations, List<Object[]> addressRows) {
+        ImportLocationDto town = address.getTown();
+        String key = ImportLocationCache.key(town.getName());
+        long locationId = locations.ids().get(key);
+        addressRows.add(new Object[] {addressId, address.getZipCode(), locationId});
+        ImportLocationDto stored = locations.created().get(key);
+        LocationDto townDto = stored == null
+                ? new LocationDto(locationId, null, null, null, town.getName(), null)
+                : new LocationDto(locationId, stored.getX(), stored.getY(), stored.getZ(), stored.getName(), null);
+        return new AddressDto(addressId, address.getZipCode(), locationId, townDto, null);
+    }
+
+    private void validate(ImportOrganizationDto dto, int index) {
+        if (dto == null) {
+            throw invalidRecord(index, "Организация обязательна");
+        }
+        checkConstraints(dto, index);
+        checkConstraints(dto.getCoordinates(), index);
+        checkAddress(dto.getPostalAddress(), index);
+        if (dto.getOfficialAddress() != null) {
+            checkAddress(dto.getOfficialAddress(), index);
+        }
+    }
+
+    private void checkAddress(ImportAddressDto address, int index) {
+        checkConstraints(address, index);
+        checkConstraints(address.getTown(), index);
+    }
+
+    private void checkConstraints(Object value, int index) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            throw invalidRecord(index, violations.iterator().next().getMessage());
+        }
+    }
+
+    private static String normalizeFullName(String fullName) {
+        return fullName == null ? null : fullName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static IllegalArgumentException duplicateFullName(int index) {
+        return invalidRecord(index, "Организация с таким полным названием уже существует");
+    }
+
+    private static IllegalArgumentException invalidRecord(int index, String message) {
+        return new IllegalArgumentException("Ошибка в записи #" + index + ": " + message);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.itmo.organization.service;
+
+import ru.itmo.organization.dto.OrganizationDto;
+import ru.itmo.organization.model.ChangeKind;
+
+public record OrganizationChangedEvent(
+        ChangeKind kind,
+        Long id,
+        Long absorbedId,
+        OrganizationDto organization) {
+
+    public static OrganizationChangedEvent created(OrganizationDto organization) {
+        return new OrganizationChangedEvent(ChangeKind.CREATED, organization.getId(), null, organization);
+    }
+
+    public static OrganizationChangedEvent updated(OrganizationDto organization) {
+        return new OrganizationChangedEvent(ChangeKind.UPDATED, organization.getId(), null, organization);
+    }
+
+    public static OrganizationChangedEvent deleted(Long id) {
+        return new OrganizationChangedEvent(ChangeKind.DELETED, id, null, null);
+    }
+
+    public static OrganizationChangedEvent absorbed(OrganizationDto organization, Long absorbedId) {
+        return new OrganizationChangedEvent(ChangeKind.ABSORBED, organization.getId(), absorbedId, organization);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.itmo.organization.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itmo.organization.config.ExportProperties;
+import ru.itmo.organization.mapper.OrganizationMapper;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.model.Organization;
+import ru.itmo.organization.repository.OrganizationRepository;
+
+@Service
+@RequiredArgsConstructor
+public class OrganizationExportService {
+
+    private static final String CSV_HEADER = "id,name,fullName,creationDate,annualTurnover,employeesCount,rating,type,"
+            + "coordinatesX,coordinatesY,officialZipCode,officialTownName,postalZipCode,postalTownName";
+
+    private final OrganizationRepository organizationRepository;
+    private final OrganizationMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long export(String searchTerm, String searchField, Sort sort, ExportFormat format, OutputStream output)
+            throws IOException {
+        int fetchSize = Math.max(1, properties.getFetchSize());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = format == ExportFormat.NDJSON
+                ? objectMapper.getFactory().createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                : null;
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long written = 0;
+        try (Stream<Organization> organizations =
+                organizationRepository.streamWithDetails(searchTerm, searchField, sort, fetchSize)) {
+            Iterator<Organization> iterator = organizations.iterator();
+            while (iterator.hasNext()) {
+                Organization organization = iterator.next();
+                if (generator != null) {
+                    jsonWriter.writeValue(generator, mapper.toDto(organization));
+                    generator.writeRaw('\n');
+                } else {
+                    writeCsvRow(writer, organization);
+                }
+                written++;
+                if (written % fetchSize == 0) {
+                    entityManager.clear();
+                    flush(generator, writer);
+                }
+            }
+        }
+        flush(generator, writer);
+        return written;
+    }
+
+    private static void flush(JsonGenerator generator, Writer writer) throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Organization organization) throws IOException {
+        Coordinates coordinates = organization.getCoordinates();
+        Address officialAddress = organization.getOfficialAddress();
+        Address postalAddress = organization.getPostalAddress();
+        Object[] values = {
+                organization.getId(),
+                organization.getName(),
+                organization.getFullName(),
+                organization.getCreationDate(),
+                organization.getAnnualTurnover(),
+                organization.getEmployeesCount(),
+                organization.getRating(),
+                organization.getType(),
+                coordinates == null ? null : coordinates.getX(),
+                coordinates == null ? null : coordinates.getY(),
+                officialAddress == null ? null : officialAddress.getZipCode(),
+                townName(officialAddress),
+                postalAddress == null ? null : postalAddress.getZipCode(),
+                townName(postalAddress)
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String townName(Address address) {
+        Location town = address == null ? null : address.getTown();
+        return town == null ? null : town.getName();
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
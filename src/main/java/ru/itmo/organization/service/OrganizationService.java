@@ -1,13 +1,12 @@
 package ru.itmo.organization.service;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import jakarta.validation.Valid;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
@@ -22,6 +21,7 @@ import ru.itmo.organization.exception.ResourceNotFoundException;
 import ru.itmo.organization.mapper.OrganizationMapper;
 import ru.itmo.organization.model.*;
 import ru.itmo.organization.repository.*;
+import ru.itmo.organization.search.OrganizationSearchIndex;
 import ru.itmo.organization.validation.UniqueOrganization;
 
 @Service
@@ -35,20 +35,33 @@ public class OrganizationService {
     private final AddressRepository addressRepository;
     private final LocationRepository locationRepository;
     private final OrganizationMapper mapper;
-    private final WebSocketService webSocketService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrganizationCountCache countCache;
+    private final OrganizationResultCache resultCache;
+    private final OrganizationAggregates aggregates;
+    private final OrganizationSearchIndex searchIndex;
+    private final ImportScope importScope;
     
     @Transactional(readOnly = true)
-    public Page<OrganizationDto> findAll(Pageable pageable) {
-        return organizationRepository.findAllWithDetails(pageable)
+    public CountedPage<OrganizationDto> findAll(Pageable pageable, CountStrategy countStrategy) {
+        return organizationRepository.findAllWithDetails(pageable, countStrategy)
                 .map(mapper::toDto);
     }
     
     @Transactional(readOnly = true)
-    public Page<OrganizationDto> findBySearchTerm(String searchTerm, String searchField, Pageable pageable) {
+    public CountedPage<OrganizationDto> findBySearchTerm(String searchTerm, String searchField, Pageable pageable,
+            CountStrategy countStrategy) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return findAll(pageable);
+            return findAll(pageable, countStrategy);
         }
-        return organizationRepository.search(searchTerm, searchField, pageable)
+        return organizationRepository.search(searchTerm, searchField, pageable, countStrategy)
+                .map(mapper::toDto);
+    }
+    
+    @Transactional(readOnly = true)
+    public KeysetSlice<OrganizationDto> findSlice(String searchTerm, String searchField, Sort sort, String after,
+            int size) {
+        return organizationRepository.findSlice(searchTerm, searchField, sort, after, size)
                 .map(mapper::toDto);
     }
     
@@ -82,8 +95,15 @@ public class OrganizationService {
         }
         
         Organization saved = organizationRepository.save(organization);
-        webSocketService.broadcastOrganizationsUpdate();
-        return mapper.toDto(saved);
+        countCache.invalidate();
+        aggregates.increment(saved.getRating(), saved.getType());
+        searchIndex.indexAfterCommit(saved);
+        OrganizationDto created = mapper.toDto(saved);
+        if (!importScope.isActive()) {
+            resultCache.created();
+            eventPublisher.publishEvent(OrganizationChangedEvent.created(created));
+        }
+        return created;
     }
     
     @Retryable(
@@ -94,6 +114,7 @@ public class OrganizationService {
     public OrganizationDto update(Long id, @Valid @UniqueOrganization OrganizationDto dto) {
         Organization existing = organizationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Организация с ID " + id + " не найдена"));
+        OrganizationResultCache.Snapshot before = OrganizationResultCache.Snapshot.of(existing);
         
         existing.setName(dto.getName());
         existing.setAnnualTurnover(dto.getAnnualTurnover());
@@ -121,8 +142,13 @@ public class OrganizationService {
         }
         
         Organization updated = organizationRepository.save(existing);
-        webSocketService.broadcastOrganizationsUpdate();
-        return mapper.toDto(updated);
+        countCache.invalidate();
+        resultCache.updated(before, updated);
+        aggregates.move(before.rating(), before.type(), updated.getRating(), updated.getType());
+        searchIndex.indexAfterCommit(updated);
+        OrganizationDto result = mapper.toDto(updated);
+        eventPublisher.publishEvent(OrganizationChangedEvent.updated(result));
+        return result;
     }
     
     @Transactional(isolation = Isolation.REPEATABLE_READ)
@@ -133,11 +159,16 @@ public class OrganizationService {
         Coordinates coordinates = organization.getCoordinates();
         Address officialAddress = organization.getOfficialAddress();
         Address postalAddress = organization.getPostalAddress();
+        OrganizationResultCache.Snapshot snapshot = OrganizationResultCache.Snapshot.of(organization);
         
         organizationRepository.delete(organization);
         
         cleanupOrphanedObjects(coordinates, officialAddress, postalAddress);
-        webSocketService.broadcastOrganizationsUpdate();
+        countCache.invalidate();
+        resultCache.deleted(snapshot);
+        aggregates.decrement(snapshot.rating(), snapshot.type());
+        searchIndex.removeAfterCommit(id);
+        eventPublisher.publishEvent(OrganizationChangedEvent.deleted(id));
     }
     
     @Transactional(readOnly = true)
@@ -151,27 +182,26 @@ public class OrganizationService {
     
     @Transactional(readOnly = true)
     public Map<Integer, Long> groupByRating() {
-        List<Object[]> results = organizationRepository.countByRatingGrouped();
-        return results.stream()
-                .collect(Collectors.toMap(
-                    result -> ((Number) result[0]).intValue(),
-                    result -> ((Number) result[1]).longValue()
-                ));
+        return aggregates.ratingCounts();
     }
     
     @Transactional(readOnly = true)
     public long countByType(OrganizationType type) {
-        return organizationRepository.countByType(type);
+        return aggregates.countByType(type);
     }
     
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public OrganizationDto dismissAllEmployees(Long id) {
         Organization organization = organizationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Организация с ID " + id + " не найдена"));
+        OrganizationResultCache.Snapshot before = OrganizationResultCache.Snapshot.of(organization);
         
         organization.setEmployeesCount(0);
         Organization updated = organizationRepository.save(organization);
-        return mapper.toDto(updated);
+        resultCache.updated(before, updated);
+        OrganizationDto result = mapper.toDto(updated);
+        eventPublisher.publishEvent(OrganizationChangedEvent.updated(result));
+        return result;
     }
     
     @Transactional(isolation = Isolation.REPEATABLE_READ)
@@ -186,6 +216,8 @@ public class OrganizationService {
         Organization absorbed = organizationRepository.findById(absorbedId)
                 .orElseThrow(() -> new ResourceNotFoundException("Поглощаемая организация с ID " + absorbedId + " не найдена"));
         
+        OrganizationResultCache.Snapshot absorbingBefore = OrganizationResultCache.Snapshot.of(absorbing);
+        OrganizationResultCache.Snapshot absorbedSnapshot = OrganizationResultCache.Snapshot.of(absorbed);
         absorbing.setEmployeesCount(absorbing.getEmployeesCount() + absorbed.getEmployeesCount());
         
         Coordinates coordinates = absorbed.getCoordinates();
@@ -196,8 +228,14 @@ public class OrganizationService {
         cleanupOrphanedObjects(coordinates, officialAddress, postalAddress);
         
         Organization updated = organizationRepository.save(absorbing);
-        webSocketService.broadcastOrganizationsUpdate();
-        return mapper.toDto(updated);
+        countCache.invalidate();
+        resultCache.deleted(absorbedSnapshot);
+        aggregates.decrement(absorbedSnapshot.rating(), absorbedSnapshot.type());
+        resultCache.updated(absorbingBefore, updated);
+        searchIndex.removeAfterCommit(absorbedId);
+        OrganizationDto result = mapper.toDto(updated);
+        eventPublisher.publishEvent(OrganizationChangedEvent.absorbed(result, absorbedId));
+        return result;
     }
     
     private Coordinates getOrCreateCoordinates(OrganizationDto dto) {
@@ -240,7 +278,9 @@ public class OrganizationService {
                     .orElseThrow(() -> new ResourceNotFoundException("Адрес с ID " + addressId + " не найден"));
 
             applyAddressUpdates(address, addressDto);
-            return addressRepository.save(address);
+            Address saved = addressRepository.save(address);
+            searchIndex.refreshAddressAfterCommit(saved);
+            return saved;
         }
 
         if (addressDto == null) {
@@ -294,7 +334,9 @@ public class OrganizationService {
             town.setX(dto.getX());
             town.setY(dto.getY());
             town.setZ(dto.getZ());
-            return locationRepository.save(town);
+            Location saved = locationRepository.save(town);
+            searchIndex.refreshTownAfterCommit(saved);
+            return saved;
         }
 
         if (dto == null) {
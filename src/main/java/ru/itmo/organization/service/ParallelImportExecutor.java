@@ -0,0 +1,341 @@
+package ru.itmo.organization.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import ru.itmo.organization.config.ImportProperties;
+import ru.itmo.organization.dto.ImportAddressDto;
+import ru.itmo.organization.dto.ImportLocationDto;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.model.ImportObjectType;
+import ru.itmo.organization.repository.AdvisoryLockRepository;
+
+@Service
+public class ParallelImportExecutor {
+
+    private static final int QUEUE_DEPTH = 2;
+
+    private final PlatformTransactionManager transactionManager;
+    private final ImportExecutorService importExecutorService;
+    private final ImportCompensationService compensationService;
+    private final ImportProperties properties;
+    private final ThreadPoolTaskExecutor workerPool;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ParallelImportExecutor(
+            PlatformTransactionManager transactionManager,
+            ImportExecutorService importExecutorService,
+            ImportCompensationService compensationService,
+            ImportProperties properties) {
+        this.transactionManager = transactionManager;
+        this.importExecutorService = importExecutorService;
+        this.compensationService = compensationService;
+        this.properties = properties;
+        int threads = Math.max(1, properties.getConcurrency()) * Math.max(1, properties.getParallelWorkers());
+        workerPool = new ThreadPoolTaskExecutor();
+        workerPool.setThreadNamePrefix("import-worker-");
+        workerPool.setCorePoolSize(threads);
+        workerPool.setMaxPoolSize(threads);
+        workerPool.setQueueCapacity(0);
+        workerPool.initialize();
+    }
+
+    public boolean isEnabled() {
+        return properties.getParallelWorkers() > 1;
+    }
+
+    public int executeImport(Long operationId, ImportRecordReader reader, ImportObjectType objectType,
+            ImportLocationCache locationCache, IntConsumer progressListener) {
+        int workerCount = Math.max(1, properties.getParallelWorkers());
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        ImportObjectType type = objectType == null ? ImportObjectType.ORGANIZATION : objectType;
+        Coordinator coordinator = new Coordinator(workerCount);
+        List<Worker> workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Worker worker = new Worker(operationId, coordinator, type, locationCache.forWorker());
+            try {
+                workerPool.execute(worker);
+            } catch (RuntimeException ex) {
+                coordinator.fail(ex);
+                coordinator.incompleteWorker();
+                continue;
+            }
+            workers.add(worker);
+        }
+
+        int recordCount = 0;
+        try {
+            List<Object> chunk = reader.nextChunk(chunkSize);
+            while (!chunk.isEmpty() && !coordinator.isFailed()) {
+                List<List<Object>> partitions = new ArrayList<>(workerCount);
+                List<List<Integer>> numbers = new ArrayList<>(workerCount);
+                for (int i = 0; i < workerCount; i++) {
+                    partitions.add(new ArrayList<>());
+                    numbers.add(new ArrayList<>());
+                }
+                int[] chunkNumbers = new int[chunk.size()];
+                for (int i = 0; i < chunkNumbers.length; i++) {
+                    chunkNumbers[i] = recordCount + 1 + i;
+                }
+                importExecutorService.prepareTowns(operationId, chunk, type, chunkNumbers, locationCache);
+                for (Object record : chunk) {
+                    recordCount++;
+                    int partition = partitionOf(record, type, recordCount, workerCount);
+                    partitions.get(partition).add(record);
+                    numbers.get(partition).add(recordCount);
+                }
+                for (int i = 0; i < workers.size(); i++) {
+                    if (!partitions.get(i).isEmpty()) {
+                        workers.get(i).submit(new Batch(partitions.get(i),
+                                numbers.get(i).stream().mapToInt(Integer::intValue).toArray()));
+                    }
+                }
+                progressListener.accept(coordinator.processed.get());
+                chunk = reader.nextChunk(chunkSize);
+            }
+        } catch (RuntimeException ex) {
+            coordinator.fail(ex);
+        } finally {
+            workers.forEach(Worker::finishInput);
+        }
+
+        coordinator.awaitVotes();
+        boolean commit = !coordinator.isFailed() && recordCount > 0;
+        coordinator.decide(commit);
+        coordinator.awaitCompletion();
+
+        if (!commit) {
+            RuntimeException failure = coordinator.failure.get();
+            if (failure != null) {
+                throw failure;
+            }
+            throw new IllegalArgumentException("Файл не содержит записей для импорта");
+        }
+        if (coordinator.commitFailure.get() != null) {
+            throw new IllegalStateException("Импорт не выполнен: ошибка фиксации параллельной транзакции",
+                    coordinator.commitFailure.get());
+        }
+        return coordinator.processed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    private static int partitionOf(Object record, ImportObjectType type, int recordNumber, int workerCount) {
+        String key = record == null ? null : switch (type) {
+            case ORGANIZATION -> ((ImportOrganizationDto) record).getFullName();
+            case LOCATION -> ((ImportLocationDto) record).getName();
+            case ADDRESS -> {
+                ImportLocationDto town = ((ImportAddressDto) record).getTown();
+                yield town == null ? null : town.getName();
+            }
+            case COORDINATES -> null;
+        };
+        if (key == null) {
+            return Math.floorMod(recordNumber, workerCount);
+        }
+        if (type == ImportObjectType.ORGANIZATION) {
+            return Math.floorMod(AdvisoryLockRepository.key(AdvisoryLockRepository.ORGANIZATION_FULL_NAME, key),
+                    workerCount);
+        }
+        return Math.floorMod(key.trim().toLowerCase(Locale.ROOT).hashCode(), workerCount);
+    }
+
+    private record Batch(List<Object> records, int[] recordNumbers) {}
+
+    private static final class Coordinator {
+        private final CountDownLatch votes;
+        private final CountDownLatch decided = new CountDownLatch(1);
+        private final CountDownLatch completed;
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final AtomicReference<RuntimeException> commitFailure = new AtomicReference<>();
+        private final AtomicInteger processed = new AtomicInteger();
+        private volatile boolean commit;
+
+        private Coordinator(int workers) {
+            votes = new CountDownLatch(workers);
+            completed = new CountDownLatch(workers);
+        }
+
+        private boolean isFailed() {
+            return failure.get() != null;
+        }
+
+        private void fail(RuntimeException ex) {
+            failure.compareAndSet(null, ex);
+        }
+
+        private void vote() {
+            votes.countDown();
+        }
+
+        private void decide(boolean commit) {
+            this.commit = commit;
+            decided.countDown();
+        }
+
+        private boolean awaitDecision() {
+            awaitUninterruptibly(decided);
+            return commit;
+        }
+
+        private void awaitVotes() {
+            awaitUninterruptibly(votes);
+        }
+
+        private void complete() {
+            completed.countDown();
+        }
+
+        private void awaitCompletion() {
+            awaitUninterruptibly(completed);
+        }
+
+        private void incompleteWorker() {
+            votes.countDown();
+            completed.countDown();
+        }
+
+        private static void awaitUninterruptibly(CountDownLatch latch) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private static final Batch END = new Batch(List.of(), new int[0]);
+
+        private final Long operationId;
+        private final Coordinator coordinator;
+        private final ImportObjectType type;
+        private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_DEPTH);
+        private final ImportLocationCache locationCache;
+        private final ImportCompensationService.CreatedRecords created =
+                new ImportCompensationService.CreatedRecords();
+
+        private Worker(Long operationId, Coordinator coordinator, ImportObjectType type,
+                ImportLocationCache locationCache) {
+            this.operationId = operationId;
+            this.coordinator = coordinator;
+            this.type = type;
+            this.locationCache = locationCache;
+        }
+
+        private void submit(Batch batch) {
+            put(batch);
+        }
+
+        private void finishInput() {
+            put(END);
+        }
+
+        private void put(Batch batch) {
+            try {
+                queue.put(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Импорт прерван", ex);
+            }
+        }
+
+        @Override
+        public void run() {
+            TransactionStatus status = null;
+            boolean failed = false;
+            try {
+                DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+                definition.setName("parallel-import-worker");
+                definition.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+                status = transactionManager.getTransaction(definition);
+            } catch (RuntimeException ex) {
+                coordinator.fail(ex);
+                failed = true;
+            }
+
+            while (true) {
+                Batch batch = take();
+                if (batch == END) {
+                    break;
+                }
+                if (failed || coordinator.isFailed()) {
+                    continue;
+                }
+                try {
+                    List<?> result = importExecutorService.executeChunk(
+                            batch.records(), type, batch.recordNumbers(), locationCache);
+                    entityManager.flush();
+                    entityManager.clear();
+                    created.addAll(result);
+                    coordinator.processed.addAndGet(result.size());
+                } catch (RuntimeException ex) {
+                    coordinator.fail(ex);
+                    failed = true;
+                }
+            }
+
+            if (status != null && !failed && !coordinator.isFailed()) {
+                try {
+                    compensationService.record(operationId, created);
+                    entityManager.flush();
+                } catch (RuntimeException ex) {
+                    coordinator.fail(ex);
+                    failed = true;
+                }
+            }
+
+            coordinator.vote();
+            boolean commit = coordinator.awaitDecision();
+            if (status != null) {
+                try {
+                    if (commit && !failed) {
+                        transactionManager.commit(status);
+                    } else {
+                        transactionManager.rollback(status);
+                    }
+                } catch (RuntimeException ex) {
+                    coordinator.commitFailure.compareAndSet(null, ex);
+                }
+            }
+            coordinator.complete();
+        }
+
+        private Batch take() {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException ex) {
+                    coordinator.fail(new IllegalStateException("Импорт прерван", ex));
+                }
+            }
+        }
+    }
+}
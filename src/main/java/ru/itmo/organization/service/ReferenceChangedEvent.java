@@ -0,0 +1,16 @@
+package ru.itmo.organization.service;
+
+import ru.itmo.organization.model.ChangeKind;
+
+public record ReferenceChangedEvent(
+        Reference reference,
+        ChangeKind kind,
+        Long id,
+        boolean organizationsAffected) {
+
+    public enum Reference {
+        ADDRESS,
+        COORDINATES,
+        LOCATION
+    }
+}
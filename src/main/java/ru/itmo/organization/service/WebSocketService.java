@@ -1,34 +1,224 @@
 package ru.itmo.organization.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.itmo.organization.config.WebSocketProperties;
+import ru.itmo.organization.dto.ChangeItemDto;
+import ru.itmo.organization.dto.ChangeNotificationDto;
+import ru.itmo.organization.model.ChangeKind;
 
 @Service
+@Slf4j
 public class WebSocketService {
 
+    private static final String ORGANIZATIONS_TOPIC = "/topic/organizations";
+    private static final String ADDRESSES_TOPIC = "/topic/addresses";
+    private static final String COORDINATES_TOPIC = "/topic/coordinates";
+    private static final String LOCATIONS_TOPIC = "/topic/locations";
+    private static final String IMPORTS_TOPIC = "/topic/imports";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxIdsPerMessage;
+    private final Map<String, TopicBatch> batches = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler scheduler;
 
-    public WebSocketService(SimpMessagingTemplate messagingTemplate) {
+    public WebSocketService(
+            SimpMessagingTemplate messagingTemplate,
+            WebSocketProperties properties,
+            MeterRegistry meterRegistry) {
         this.messagingTemplate = messagingTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxIdsPerMessage = Math.max(0, properties.getMaxIdsPerMessage());
+        Duration window = properties.getCoalesceWindow();
+        if (window == null || window.isZero() || window.isNegative()) {
+            scheduler = null;
+        } else {
+            scheduler = new ThreadPoolTaskScheduler();
+            scheduler.setThreadNamePrefix("ws-coalescer-");
+            scheduler.setPoolSize(1);
+            scheduler.initialize();
+            scheduler.scheduleWithFixedDelay(this::flush, window);
+        }
     }
 
     public void broadcastOrganizationsUpdate() {
-        messagingTemplate.convertAndSend("/topic/organizations", "update");
+        publish(ORGANIZATIONS_TOPIC, null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        List<ChangeItemDto> items = new ArrayList<>(2);
+        if (event.kind() == ChangeKind.ABSORBED && event.absorbedId() != null) {
+            items.add(new ChangeItemDto(ChangeKind.DELETED, event.absorbedId(), null, null));
+        }
+        items.add(new ChangeItemDto(event.kind(), event.id(), event.absorbedId(), event.organization()));
+        publish(ORGANIZATIONS_TOPIC, items);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceChanged(ReferenceChangedEvent event) {
+        String topic = switch (event.reference()) {
+            case ADDRESS -> ADDRESSES_TOPIC;
+            case COORDINATES -> COORDINATES_TOPIC;
+            case LOCATION -> LOCATIONS_TOPIC;
+        };
+        publish(topic, item(event.kind(), event.id()));
+        if (event.organizationsAffected()) {
+            publish(ORGANIZATIONS_TOPIC, null);
+        }
     }
 
     public void broadcastAddressesUpdate() {
-        messagingTemplate.convertAndSend("/topic/addresses", "update");
+        publish(ADDRESSES_TOPIC, null);
+    }
+
+    public void broadcastAddressesUpdate(ChangeKind kind, Long id) {
+        publish(ADDRESSES_TOPIC, item(kind, id));
     }
 
     public void broadcastCoordinatesUpdate() {
-        messagingTemplate.convertAndSend("/topic/coordinates", "update");
+        publish(COORDINATES_TOPIC, null);
+    }
+
+    public void broadcastCoordinatesUpdate(ChangeKind kind, Long id) {
+        publish(COORDINATES_TOPIC, item(kind, id));
     }
 
     public void broadcastLocationsUpdate() {
-        messagingTemplate.convertAndSend("/topic/locations", "update");
+        publish(LOCATIONS_TOPIC, null);
+    }
+
+    public void broadcastLocationsUpdate(ChangeKind kind, Long id) {
+        publish(LOCATIONS_TOPIC, item(kind, id));
     }
 
     public void broadcastImportsUpdate() {
-        messagingTemplate.convertAndSend("/topic/imports", "update");
+        publish(IMPORTS_TOPIC, null);
+    }
+
+    public void broadcastImportsUpdate(ChangeKind kind, Long id) {
+        publish(IMPORTS_TOPIC, item(kind, id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            flush();
+        }
+    }
+
+    private static List<ChangeItemDto> item(ChangeKind kind, Long id) {
+        return kind == null || id == null ? null : List.of(new ChangeItemDto(kind, id, null, null));
+    }
+
+    private void publish(String topic, List<ChangeItemDto> items) {
+        TopicBatch batch = batches.computeIfAbsent(topic, TopicBatch::new);
+        batch.received.increment();
+        batch.add(items, maxIdsPerMessage);
+        if (scheduler == null) {
+            send(batch);
+        }
+    }
+
+    private void flush() {
+        for (TopicBatch batch : batches.values()) {
+            try {
+                send(batch);
+            } catch (RuntimeException ex) {
+                log.warn("Не удалось отправить уведомление в {}: {}", batch.topic, ex.getMessage());
+            }
+        }
+    }
+
+    private void send(TopicBatch batch) {
+        ChangeNotificationDto notification = batch.drain();
+        if (notification == null) {
+            return;
+        }
+        messagingTemplate.convertAndSend(batch.topic, notification);
+        batch.sent.increment();
+        batch.suppressed.increment(notification.getEvents() - 1);
+    }
+
+    private final class TopicBatch {
+        private final String topic;
+        private final Counter received;
+        private final Counter sent;
+        private final Counter suppressed;
+        private Map<Long, ChangeItemDto> items = new LinkedHashMap<>();
+        private boolean refresh;
+        private int events;
+
+        private TopicBatch(String topic) {
+            this.topic = topic;
+            this.received = Counter.builder("websocket.notifications.received")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+            this.sent = Counter.builder("websocket.notifications.sent")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+            this.suppressed = Counter.builder("websocket.notifications.suppressed")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+        }
+
+        private synchronized void add(List<ChangeItemDto> changed, int maxIds) {
+            events++;
+            if (changed == null) {
+                refresh = true;
+                items = new LinkedHashMap<>();
+                return;
+            }
+            if (refresh) {
+                return;
+            }
+            for (ChangeItemDto item : changed) {
+                ChangeItemDto previous = items.get(item.getId());
+                if (previous != null && previous.getKind() == ChangeKind.CREATED
+                        && item.getKind() != ChangeKind.DELETED) {
+                    item = new ChangeItemDto(ChangeKind.CREATED, item.getId(), item.getAbsorbedId(),
+                            item.getData() != null ? item.getData() : previous.getData());
+                }
+                items.put(item.getId(), item);
+            }
+            if (items.size() > maxIds) {
+                refresh = true;
+                items = new LinkedHashMap<>();
+            }
+        }
+
+        private synchronized ChangeNotificationDto drain() {
+            if (events == 0) {
+                return null;
+            }
+            Map<ChangeKind, Set<Long>> changes = new EnumMap<>(ChangeKind.class);
+            for (ChangeItemDto item : items.values()) {
+                changes.computeIfAbsent(item.getKind(), k -> new LinkedHashSet<>()).add(item.getId());
+            }
+            ChangeNotificationDto notification = new ChangeNotificationDto(
+                    changes, new ArrayList<>(items.values()), refresh, events);
+            items = new LinkedHashMap<>();
+            refresh = false;
+            events = 0;
+            return notification;
+        }
     }
 }
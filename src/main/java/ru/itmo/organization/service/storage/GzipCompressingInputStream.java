@@ -0,0 +1,92 @@
+package ru.itmo.organization.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+
+class GzipCompressingInputStream extends InputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CRC32 crc = new CRC32();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final InputStream source;
+    private final DeflaterInputStream body;
+    private byte[] pending = HEADER;
+    private int pendingPosition;
+    private boolean bodyFinished;
+    private long count;
+
+    GzipCompressingInputStream(InputStream source) {
+        this.source = new CheckedInputStream(source, crc);
+        this.body = new DeflaterInputStream(this.source, deflater, BUFFER_SIZE);
+    }
+
+    long count() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read;
+        do {
+            read = read(single, 0, 1);
+        } while (read == 0);
+        return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (true) {
+            if (pending != null) {
+                if (pendingPosition < pending.length) {
+                    int read = Math.min(length, pending.length - pendingPosition);
+                    System.arraycopy(pending, pendingPosition, buffer, offset, read);
+                    pendingPosition += read;
+                    count += read;
+                    return read;
+                }
+                pending = null;
+            }
+            if (bodyFinished) {
+                return -1;
+            }
+            int read = body.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+                return read;
+            }
+            if (read < 0) {
+                bodyFinished = true;
+                pending = trailer();
+                pendingPosition = 0;
+            }
+        }
+    }
+
+    private byte[] trailer() {
+        long checksum = crc.getValue();
+        long size = deflater.getBytesRead();
+        return new byte[] {
+                (byte) checksum, (byte) (checksum >> 8), (byte) (checksum >> 16), (byte) (checksum >> 24),
+                (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24)
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            source.close();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package ru.itmo.organization.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.itmo.organization.config.StorageProperties;
+
+@Component
+@ConditionalOnProperty(prefix = "app.storage", name = "backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final Path root;
+
+    public LocalStorageBackend(StorageProperties properties) {
+        this.root = Path.of(properties.getLocal().getRoot()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void ensureBucket(String bucket) throws IOException {
+        Files.createDirectories(bucketPath(bucket));
+    }
+
+    @Override
+    public void put(String bucket, String objectName, InputStream content, long size, String contentType)
+            throws IOException {
+        Path target = resolve(bucket, objectName);
+        Files.createDirectories(target.getParent());
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                ReadableByteChannel source = Channels.newChannel(content)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+            if (size > 0 && position != size) {
+                throw new IOException("Размер файла не совпадает с заявленным: " + position + " из " + size);
+            }
+        } catch (IOException ex) {
+            Files.deleteIfExists(target);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void move(String bucket, String sourceObjectName, String targetObjectName) throws IOException {
+        Path target = resolve(bucket, targetObjectName);
+        Files.createDirectories(target.getParent());
+        Files.move(resolve(bucket, sourceObjectName), target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void remove(String bucket, String objectName) throws IOException {
+        Files.deleteIfExists(resolve(bucket, objectName));
+    }
+
+    @Override
+    public StorageObjectInfo stat(String bucket, String objectName) throws IOException {
+        Path path = resolve(bucket, objectName);
+        long size = Files.size(path);
+        Instant lastModified = Files.getLastModifiedTime(path).toInstant();
+        String etag = Long.toHexString(lastModified.toEpochMilli()) + "-" + Long.toHexString(size);
+        return new StorageObjectInfo(size, etag, lastModified);
+    }
+
+    @Override
+    public InputStream open(String bucket, String objectName, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(bucket, objectName), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long start = Math.min(Math.max(0, offset), size);
+            long end = length < 0 ? size : Math.min(size, start + length);
+            channel.position(start);
+            return new FileChannelInputStream(channel, end);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private Path bucketPath(String bucket) {
+        Path path = root.resolve(bucket).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Недопустимое имя бакета: " + bucket);
+        }
+        return path;
+    }
+
+    private Path resolve(String bucket, String objectName) {
+        Path bucketPath = bucketPath(bucket);
+        Path path = bucketPath.resolve(objectName).normalize();
+        if (!path.startsWith(bucketPath) || path.equals(bucketPath)) {
+            throw new IllegalArgumentException("Недопустимое имя объекта: " + objectName);
+        }
+        return path;
+    }
+
+    private static final class FileChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+
+        private FileChannelInputStream(FileChannel channel, long end) {
+            this.channel = channel;
+            this.end = end;
+        }
+
+        private long remaining() throws IOException {
+            return Math.max(0, end - channel.position());
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            long remaining = remaining();
+            if (remaining == 0) {
+                return -1;
+            }
+            return channel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, remaining)));
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = Math.max(0, Math.min(n, remaining()));
+            channel.position(channel.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, remaining());
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long position = channel.position();
+            long start = position;
+            WritableByteChannel target = Channels.newChannel(out);
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            channel.position(position);
+            return position - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
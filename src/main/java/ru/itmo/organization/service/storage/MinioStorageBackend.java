@@ -0,0 +1,96 @@
+package ru.itmo.organization.service.storage;
+
+import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "app.storage", name = "backend", havingValue = "minio", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MinioStorageBackend implements StorageBackend {
+
+    private static final long DEFAULT_PART_SIZE = 10 * 1024 * 1024;
+
+    private final MinioClient minioClient;
+
+    @Override
+    public void ensureBucket(String bucket) throws Exception {
+        boolean exists = minioClient.bucketExists(BucketExistsArgs.builder()
+                .bucket(bucket)
+                .build());
+        if (!exists) {
+            minioClient.makeBucket(MakeBucketArgs.builder()
+                    .bucket(bucket)
+                    .build());
+        }
+    }
+
+    @Override
+    public void put(String bucket, String objectName, InputStream content, long size, String contentType)
+            throws Exception {
+        minioClient.putObject(PutObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName)
+                .stream(content, size > 0 ? size : -1, size > 0 ? -1 : DEFAULT_PART_SIZE)
+                .contentType(contentType)
+                .build());
+    }
+
+    @Override
+    public void move(String bucket, String sourceObjectName, String targetObjectName) throws Exception {
+        minioClient.copyObject(CopyObjectArgs.builder()
+                .bucket(bucket)
+                .object(targetObjectName)
+                .source(CopySource.builder()
+                        .bucket(bucket)
+                        .object(sourceObjectName)
+                        .build())
+                .build());
+        remove(bucket, sourceObjectName);
+    }
+
+    @Override
+    public void remove(String bucket, String objectName) throws Exception {
+        minioClient.removeObject(RemoveObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName)
+                .build());
+    }
+
+    @Override
+    public StorageObjectInfo stat(String bucket, String objectName) throws Exception {
+        StatObjectResponse response = minioClient.statObject(StatObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName)
+                .build());
+        return new StorageObjectInfo(
+                response.size(),
+                response.etag(),
+                response.lastModified() == null ? null : response.lastModified().toInstant());
+    }
+
+    @Override
+    public InputStream open(String bucket, String objectName, long offset, long length) throws Exception {
+        GetObjectArgs.Builder builder = GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName);
+        if (offset > 0) {
+            builder.offset(offset);
+        }
+        if (length >= 0) {
+            builder.length(length);
+        }
+        return minioClient.getObject(builder.build());
+    }
+}
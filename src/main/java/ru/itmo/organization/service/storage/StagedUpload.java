@@ -0,0 +1,3 @@
+package ru.itmo.organization.service.storage;
+
+public record StagedUpload<T>(StorageTransaction transaction, T result) {}
@@ -0,0 +1,22 @@
+package ru.itmo.organization.service.storage;
+
+import java.io.InputStream;
+
+public interface StorageBackend {
+
+    void ensureBucket(String bucket) throws Exception;
+
+    void put(String bucket, String objectName, InputStream content, long size, String contentType) throws Exception;
+
+    void move(String bucket, String sourceObjectName, String targetObjectName) throws Exception;
+
+    void remove(String bucket, String objectName) throws Exception;
+
+    StorageObjectInfo stat(String bucket, String objectName) throws Exception;
+
+    InputStream open(String bucket, String objectName, long offset, long length) throws Exception;
+
+    default InputStream open(String bucket, String objectName) throws Exception {
+        return open(bucket, objectName, 0, -1);
+    }
+}
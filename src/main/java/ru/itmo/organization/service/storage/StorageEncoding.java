@@ -0,0 +1,30 @@
+package ru.itmo.organization.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+public enum StorageEncoding {
+    IDENTITY(null),
+    GZIP("gzip");
+
+    private static final int INFLATE_BUFFER_SIZE = 64 * 1024;
+
+    private final String token;
+
+    StorageEncoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public InputStream decode(InputStream stream) throws IOException {
+        return this == GZIP ? new GZIPInputStream(stream, INFLATE_BUFFER_SIZE) : stream;
+    }
+
+    public static StorageEncoding from(String token) {
+        return GZIP.token.equalsIgnoreCase(token) ? GZIP : IDENTITY;
+    }
+}
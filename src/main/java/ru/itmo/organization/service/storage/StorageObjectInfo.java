@@ -0,0 +1,9 @@
+package ru.itmo.organization.service.storage;
+
+import java.time.Instant;
+
+public record StorageObjectInfo(
+        long size,
+        String etag,
+        Instant lastModified
+) {}
@@ -1,36 +1,47 @@
 package ru.itmo.organization.service.storage;
 
-import io.minio.BucketExistsArgs;
-import io.minio.CopyObjectArgs;
-import io.minio.CopySource;
-import io.minio.GetObjectArgs;
-import io.minio.MakeBucketArgs;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.RemoveObjectArgs;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PushbackInputStream;
 import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import ru.itmo.organization.config.MinioProperties;
+import ru.itmo.organization.config.StorageProperties;
 import ru.itmo.organization.exception.StorageUnavailableException;
 
 @Service
 @RequiredArgsConstructor
 public class StorageService {
 
-    private static final long DEFAULT_PART_SIZE = 10 * 1024 * 1024;
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC_LENGTH = 2;
+    private static final int MAX_STREAMING_UPLOADS = 16;
     private static final String STORAGE_UNAVAILABLE_MESSAGE =
             "Хранилище временно недоступно. Повторите попытку позже.";
+    private static final String UPLOADS_EXHAUSTED_MESSAGE =
+            "Слишком много одновременных загрузок файлов. Повторите попытку позже.";
 
-    private final MinioClient minioClient;
+    private final StorageBackend backend;
     private final MinioProperties properties;
+    private final StorageProperties storageProperties;
+    private final ThreadPoolTaskExecutor uploadExecutor = createUploadExecutor();
 
     public StorageTransaction stageImportFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
@@ -45,43 +56,128 @@ public class StorageService {
         long size = file.getSize();
         String contentType = file.getContentType() == null ? "application/octet-stream" : file.getContentType();
 
-        try (InputStream inputStream = file.getInputStream()) {
-            PutObjectArgs.Builder builder = PutObjectArgs.builder()
-                    .bucket(properties.getBucket())
-                    .object(tempObjectName)
-                    .stream(inputStream, size > 0 ? size : -1, size > 0 ? -1 : DEFAULT_PART_SIZE)
-                    .contentType(contentType);
-            minioClient.putObject(builder.build());
+        try (PushbackInputStream source = new PushbackInputStream(file.getInputStream(), GZIP_MAGIC_LENGTH)) {
+            boolean gzipped = isGzip(source);
+            StorageEncoding encoding = storedEncoding(gzipped);
+            long storedSize = size;
+            if (gzipped || encoding == StorageEncoding.IDENTITY) {
+                backend.put(properties.getBucket(), tempObjectName, source, size, contentType);
+            } else {
+                GzipCompressingInputStream compressed = new GzipCompressingInputStream(source);
+                backend.put(properties.getBucket(), tempObjectName, compressed, -1, contentType);
+                storedSize = compressed.count();
+            }
             return new StorageTransaction(
                     properties.getBucket(),
                     tempObjectName,
                     finalObjectName,
                     sanitizedName,
-                    size,
-                    contentType
+                    storedSize,
+                    contentType,
+                    encoding
             );
         } catch (Exception ex) {
             throw wrapStorageException("Не удалось сохранить файл в хранилище", ex);
         }
     }
 
+    public <T> StagedUpload<T> stageImportStream(
+            InputStream body,
+            String originalFileName,
+            String contentType,
+            long size,
+            Function<InputStream, T> inspector) {
+        if (body == null) {
+            throw new IllegalArgumentException("Файл отсутствует или пуст");
+        }
+        ensureBucket();
+
+        String objectId = UUID.randomUUID().toString().replace("-", "");
+        String sanitizedName = sanitizeFileName(originalFileName);
+        String tempObjectName = "imports/staged/" + objectId;
+        String finalObjectName = "imports/" + objectId + "/" + sanitizedName;
+        String resolvedContentType = contentType == null ? "application/octet-stream" : contentType;
+
+        PushbackInputStream source = new PushbackInputStream(body, GZIP_MAGIC_LENGTH);
+        PipedInputStream inspected = new PipedInputStream(PIPE_BUFFER_SIZE);
+        boolean gzipped;
+        TeeInputStream tee;
+        try {
+            gzipped = isGzip(source);
+            tee = new TeeInputStream(source, new PipedOutputStream(inspected));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Не удалось прочитать файл импорта", ex);
+        }
+        StorageEncoding encoding = storedEncoding(gzipped);
+        boolean compress = !gzipped && encoding == StorageEncoding.GZIP;
+        Future<StorageTransaction> upload;
+        try {
+            upload = uploadExecutor.submit(() -> {
+                long storedSize;
+                try (tee) {
+                    if (compress) {
+                        GzipCompressingInputStream compressed = new GzipCompressingInputStream(tee);
+                        backend.put(properties.getBucket(), tempObjectName, compressed, -1, resolvedContentType);
+                        storedSize = compressed.count();
+                    } else {
+                        backend.put(properties.getBucket(), tempObjectName, tee, size, resolvedContentType);
+                        storedSize = tee.count();
+                    }
+                    tee.drain();
+                }
+                return new StorageTransaction(
+                        properties.getBucket(),
+                        tempObjectName,
+                        finalObjectName,
+                        sanitizedName,
+                        storedSize,
+                        resolvedContentType,
+                        encoding
+                );
+            });
+        } catch (TaskRejectedException ex) {
+            closeQuietly(tee);
+            closeQuietly(inspected);
+            throw new StorageUnavailableException(UPLOADS_EXHAUSTED_MESSAGE, ex);
+        }
+
+        T result;
+        try {
+            InputStream parsed = StreamUtils.nonClosing(inspected);
+            result = inspector.apply(gzipped ? StorageEncoding.GZIP.decode(parsed) : parsed);
+            inspected.transferTo(OutputStream.nullOutputStream());
+        } catch (RuntimeException | IOException ex) {
+            closeQuietly(inspected);
+            RuntimeException uploadFailure = null;
+            try {
+                awaitUpload(upload, tempObjectName, finalObjectName);
+            } catch (RuntimeException uploadEx) {
+                uploadFailure = uploadEx;
+            }
+            rollback(stagedObjects(tempObjectName, finalObjectName));
+            if (uploadFailure != null && !TeeInputStream.isBranchFailure(uploadFailure)) {
+                throw uploadFailure;
+            }
+            if (ex instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalArgumentException("Не удалось прочитать файл импорта", ex);
+        }
+        StorageTransaction staged = awaitUpload(upload, tempObjectName, finalObjectName);
+        closeQuietly(inspected);
+        if (tee.count() == 0) {
+            rollback(staged);
+            throw new IllegalArgumentException("Файл отсутствует или пуст");
+        }
+        return new StagedUpload<>(staged, result);
+    }
+
     public void commit(StorageTransaction transaction) {
         if (transaction == null) {
             return;
         }
         try {
-            minioClient.copyObject(CopyObjectArgs.builder()
-                    .bucket(transaction.bucket())
-                    .object(transaction.finalObjectName())
-                    .source(CopySource.builder()
-                            .bucket(transaction.bucket())
-                            .object(transaction.tempObjectName())
-                            .build())
-                    .build());
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(transaction.bucket())
-                    .object(transaction.tempObjectName())
-                    .build());
+            backend.move(transaction.bucket(), transaction.tempObjectName(), transaction.finalObjectName());
         } catch (Exception ex) {
             throw wrapStorageException("Не удалось зафиксировать файл в хранилище", ex);
         }
@@ -92,27 +188,34 @@ public class StorageService {
             return;
         }
         try {
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(transaction.bucket())
-                    .object(transaction.tempObjectName())
-                    .build());
+            backend.remove(transaction.bucket(), transaction.tempObjectName());
         } catch (Exception ignored) {
         }
         try {
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(transaction.bucket())
-                    .object(transaction.finalObjectName())
-                    .build());
+            backend.remove(transaction.bucket(), transaction.finalObjectName());
         } catch (Exception ignored) {
         }
     }
 
     public StorageStream load(String bucket, String objectName, String fallbackName, String contentType) {
+        return load(bucket, objectName, fallbackName, contentType, 0, -1);
+    }
+
+    public StorageStream load(String bucket, String objectName, String fallbackName, String contentType,
+            StorageEncoding encoding) {
+        StorageStream stream = load(bucket, objectName, fallbackName, contentType);
+        try {
+            return new StorageStream(encoding.decode(stream.inputStream()), fallbackName, contentType);
+        } catch (IOException ex) {
+            closeQuietly(stream.inputStream());
+            throw new IllegalArgumentException("Не удалось распаковать файл из хранилища", ex);
+        }
+    }
+
+    public StorageStream load(String bucket, String objectName, String fallbackName, String contentType,
+            long offset, long length) {
         try {
-            InputStream stream = minioClient.getObject(GetObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(objectName)
-                    .build());
+            InputStream stream = backend.open(bucket, objectName, offset, length);
             return new StorageStream(stream, fallbackName, contentType);
         } catch (Exception ex) {
             if (isConnectionIssue(ex)) {
@@ -122,16 +225,89 @@ public class StorageService {
         }
     }
 
-    private void ensureBucket() {
+    public StorageObjectInfo stat(String bucket, String objectName) {
+        try {
+            return backend.stat(bucket, objectName);
+        } catch (Exception ex) {
+            if (isConnectionIssue(ex)) {
+                throw new StorageUnavailableException(STORAGE_UNAVAILABLE_MESSAGE, ex);
+            }
+            throw new IllegalArgumentException("Файл не найден в хранилище");
+        }
+    }
+
+    public boolean exists(String bucket, String objectName) {
         try {
-            boolean exists = minioClient.bucketExists(BucketExistsArgs.builder()
-                    .bucket(properties.getBucket())
-                    .build());
-            if (!exists) {
-                minioClient.makeBucket(MakeBucketArgs.builder()
-                        .bucket(properties.getBucket())
-                        .build());
+            backend.stat(bucket, objectName);
+            return true;
+        } catch (Exception ex) {
+            if (isConnectionIssue(ex)) {
+                throw new StorageUnavailableException(STORAGE_UNAVAILABLE_MESSAGE, ex);
             }
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    private StorageTransaction awaitUpload(Future<StorageTransaction> upload, String tempObjectName,
+            String finalObjectName) {
+        try {
+            return upload.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            upload.cancel(true);
+            rollback(stagedObjects(tempObjectName, finalObjectName));
+            throw new IllegalStateException("Загрузка файла прервана", ex);
+        } catch (ExecutionException ex) {
+            rollback(stagedObjects(tempObjectName, finalObjectName));
+            Throwable cause = ex.getCause();
+            throw wrapStorageException("Не удалось сохранить файл в хранилище",
+                    cause instanceof Exception exception ? exception : ex);
+        }
+    }
+
+    private StorageTransaction stagedObjects(String tempObjectName, String finalObjectName) {
+        return new StorageTransaction(properties.getBucket(), tempObjectName, finalObjectName, null, 0, null,
+                StorageEncoding.IDENTITY);
+    }
+
+    private StorageEncoding storedEncoding(boolean gzipped) {
+        return gzipped || "gzip".equalsIgnoreCase(storageProperties.getCompression())
+                ? StorageEncoding.GZIP
+                : StorageEncoding.IDENTITY;
+    }
+
+    private static boolean isGzip(PushbackInputStream source) throws IOException {
+        byte[] magic = source.readNBytes(GZIP_MAGIC_LENGTH);
+        source.unread(magic);
+        return magic.length == GZIP_MAGIC_LENGTH && magic[0] == (byte) 0x1f && magic[1] == (byte) 0x8b;
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ThreadPoolTaskExecutor createUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("storage-upload-");
+        executor.setCorePoolSize(MAX_STREAMING_UPLOADS);
+        executor.setMaxPoolSize(MAX_STREAMING_UPLOADS);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.initialize();
+        return executor;
+    }
+
+    private void ensureBucket() {
+        try {
+            backend.ensureBucket(properties.getBucket());
         } catch (Exception ex) {
             throw wrapStorageException("Не удалось подготовить бакет хранилища", ex);
         }
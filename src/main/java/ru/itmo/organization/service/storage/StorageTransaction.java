@@ -6,5 +6,6 @@ public record StorageTransaction(
         String finalObjectName,
         String originalFileName,
         long size,
-        String contentType
+        String contentType,
+        StorageEncoding encoding
 ) {}
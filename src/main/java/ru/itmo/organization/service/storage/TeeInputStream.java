@@ -0,0 +1,120 @@
+package ru.itmo.organization.service.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+class TeeInputStream extends FilterInputStream {
+
+    private static final int DRAIN_BUFFER_SIZE = 8192;
+
+    private final OutputStream branch;
+    private boolean branchOpen = true;
+    private long count;
+
+    TeeInputStream(InputStream source, OutputStream branch) {
+        super(source);
+        this.branch = branch;
+    }
+
+    long count() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value < 0) {
+            closeBranch();
+        } else {
+            writeBranch(new byte[] {(byte) value}, 0, 1);
+            count++;
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read < 0) {
+            closeBranch();
+        } else if (read > 0) {
+            writeBranch(buffer, offset, read);
+            count += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(DRAIN_BUFFER_SIZE, Math.max(0, n))];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset не поддерживается");
+    }
+
+    void drain() throws IOException {
+        byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+        while (read(buffer, 0, buffer.length) >= 0) {
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeBranch();
+    }
+
+    static boolean isBranchFailure(Throwable ex) {
+        Throwable current = ex;
+        while (current != null) {
+            if (current instanceof BranchFailureException) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    private void writeBranch(byte[] buffer, int offset, int length) throws IOException {
+        try {
+            branch.write(buffer, offset, length);
+        } catch (IOException ex) {
+            throw new BranchFailureException(ex);
+        }
+    }
+
+    private void closeBranch() throws IOException {
+        if (branchOpen) {
+            branchOpen = false;
+            branch.close();
+        }
+    }
+
+    private static final class BranchFailureException extends IOException {
+
+        private BranchFailureException(IOException cause) {
+            super("Второй поток чтения закрыт: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -2,9 +2,12 @@ package ru.itmo.organization.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.itmo.organization.dto.OrganizationDto;
+import ru.itmo.organization.repository.AdvisoryLockRepository;
 import ru.itmo.organization.repository.OrganizationRepository;
 
 @Component
@@ -12,6 +15,7 @@ import ru.itmo.organization.repository.OrganizationRepository;
 public class UniqueConstraintValidator implements ConstraintValidator<UniqueOrganization, OrganizationDto> {
 
     private final OrganizationRepository organizationRepository;
+    private final AdvisoryLockRepository advisoryLockRepository;
 
     @Override
     public boolean isValid(OrganizationDto dto, ConstraintValidatorContext context) {
@@ -23,6 +27,9 @@ public class UniqueConstraintValidator implements ConstraintValidator<UniqueOrga
         Long excludeId = dto.getId();
         context.disableDefaultConstraintViolation();
 
+        if (dto.getFullName() != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            advisoryLockRepository.lock(AdvisoryLockRepository.ORGANIZATION_FULL_NAME, List.of(dto.getFullName()));
+        }
         if (dto.getFullName() != null && organizationRepository.existsByFullName(dto.getFullName(), excludeId)) {
             context.buildConstraintViolationWithTemplate("Организация с таким полным названием уже существует")
                     .addPropertyNode("fullName")
@@ -0,0 +1,182 @@
+package ru.itmo.organization.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompReactorNettyCodec;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import ru.itmo.organization.model.ChangeKind;
+import ru.itmo.organization.service.WebSocketService;
+
+@SpringJUnitWebConfig(WebSocketRelayTest.RelayConfig.class)
+class WebSocketRelayTest {
+
+    private static final int PORT = freePort();
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static EmbeddedActiveMQ broker;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relayHandler;
+
+    private ThreadPoolTaskScheduler receiptScheduler;
+    private ReactorNettyTcpStompClient subscriberClient;
+    private StompSession subscriber;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJournalDirectory("target/artemis/journal")
+                .setBindingsDirectory("target/artemis/bindings")
+                .setLargeMessagesDirectory("target/artemis/large-messages")
+                .setPagingDirectory("target/artemis/paging")
+                .addAcceptorConfiguration("stomp",
+                        "tcp://127.0.0.1:" + PORT + "?protocols=STOMP;multicastPrefix=/topic/"));
+        broker.start();
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        broker.stop();
+    }
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.websocket.coalesce-window", () -> "0");
+        registry.add("app.websocket.broker.mode", () -> "relay");
+        registry.add("app.websocket.broker.relay.host", () -> "127.0.0.1");
+        registry.add("app.websocket.broker.relay.port", () -> PORT);
+    }
+
+    @BeforeEach
+    void connectSubscriber() throws Exception {
+        subscriberClient = new ReactorNettyTcpStompClient(new ReactorNettyTcpClient<>(
+                client -> client.host("127.0.0.1").port(PORT),
+                new StompReactorNettyCodec()));
+        subscriberClient.setMessageConverter(new MappingJackson2MessageConverter());
+        receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.initialize();
+        subscriberClient.setTaskScheduler(receiptScheduler);
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin("guest");
+        connectHeaders.setPasscode("guest");
+        subscriber = subscriberClient.connectAsync(connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!relayHandler.isBrokerAvailable() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(relayHandler.isBrokerAvailable()).isTrue();
+    }
+
+    @AfterEach
+    void disconnectSubscriber() {
+        subscriber.disconnect();
+        subscriberClient.shutdown();
+        receiptScheduler.shutdown();
+    }
+
+    @Test
+    void deliversBroadcastsThroughExternalBroker() throws Exception {
+        BlockingQueue<JsonNode> received = subscribe("/topic/locations");
+
+        webSocketService.broadcastLocationsUpdate(ChangeKind.CREATED, 42L);
+
+        JsonNode notification = received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(notification.get("items")).hasSize(1);
+        assertThat(notification.get("items").get(0).get("kind").asText()).isEqualTo("CREATED");
+        assertThat(notification.get("items").get(0).get("id").asLong()).isEqualTo(42L);
+        assertThat(notification.get("refresh").asBoolean()).isFalse();
+    }
+
+    @Test
+    void deliversRefreshBroadcastToEverySubscriber() throws Exception {
+        BlockingQueue<JsonNode> first = subscribe("/topic/imports");
+        BlockingQueue<JsonNode> second = subscribe("/topic/imports");
+
+        webSocketService.broadcastImportsUpdate();
+
+        assertThat(first.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS).get("refresh").asBoolean()).isTrue();
+        assertThat(second.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS).get("refresh").asBoolean()).isTrue();
+    }
+
+    private BlockingQueue<JsonNode> subscribe(String destination) throws Exception {
+        BlockingQueue<JsonNode> received = new LinkedBlockingQueue<>();
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        headers.setReceipt("subscribe-" + System.nanoTime());
+        StompSession.Receiptable subscription = subscriber.subscribe(headers, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return JsonNode.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((JsonNode) payload);
+            }
+        });
+        CompletableFuture<Void> receipt = new CompletableFuture<>();
+        subscription.addReceiptTask(() -> receipt.complete(null));
+        receipt.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return received;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(WebSocketProperties.class)
+    @Import({WebSocketConfig.class, WebSocketService.class})
+    static class RelayConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
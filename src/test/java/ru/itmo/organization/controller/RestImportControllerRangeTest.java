@@ -0,0 +1,172 @@
+package ru.itmo.organization.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.itmo.organization.config.MinioProperties;
+import ru.itmo.organization.config.StorageProperties;
+import ru.itmo.organization.model.ImportOperation;
+import ru.itmo.organization.service.ImportService;
+import ru.itmo.organization.service.storage.LocalStorageBackend;
+import ru.itmo.organization.service.storage.StorageEncoding;
+import ru.itmo.organization.service.storage.StorageObjectInfo;
+import ru.itmo.organization.service.storage.StorageService;
+
+class RestImportControllerRangeTest {
+
+    private static final String BUCKET = "imports";
+    private static final String OBJECT = "imports/1/file.json";
+    private static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path root;
+
+    private StorageService storageService;
+    private MockMvc mockMvc;
+    private String etag;
+    private Instant lastModified;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.getLocal().setRoot(root.toString());
+        LocalStorageBackend backend = new LocalStorageBackend(storageProperties);
+        backend.ensureBucket(BUCKET);
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.US_ASCII);
+        backend.put(BUCKET, OBJECT, new ByteArrayInputStream(bytes), bytes.length, "application/json");
+        StorageObjectInfo info = backend.stat(BUCKET, OBJECT);
+        etag = info.etag();
+        lastModified = info.lastModified();
+
+        MinioProperties minioProperties = new MinioProperties();
+        minioProperties.setBucket(BUCKET);
+        storageService = new StorageService(backend, minioProperties, storageProperties);
+
+        ImportOperation operation = new ImportOperation();
+        operation.setStorageBucket(BUCKET);
+        operation.setStorageObject(OBJECT);
+        operation.setStorageFileName("file.json");
+        operation.setStorageContentType("application/json");
+        operation.setStorageEncoding(StorageEncoding.IDENTITY.name());
+        ImportService importService = mock(ImportService.class);
+        when(importService.getOperationEntity(eq(1L), any())).thenReturn(operation);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new RestImportController(importService, storageService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.shutdown();
+    }
+
+    @Test
+    void servesSingleRange() throws Exception {
+        download(get("/api/imports/1/file").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void servesSuffixAndOpenEndedRanges() throws Exception {
+        download(get("/api/imports/1/file").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+        download(get("/api/imports/1/file").header(HttpHeaders.RANGE, "bytes=6-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-9/10"))
+                .andExpect(content().string("6789"));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/api/imports/1/file").header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    void ignoresMalformedAndMultipleRanges() throws Exception {
+        download(get("/api/imports/1/file").header(HttpHeaders.RANGE, "items=1-2"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+        download(get("/api/imports/1/file").header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void honorsIfRangeWithMatchingEntityTag() throws Exception {
+        download(get("/api/imports/1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-1")
+                .header(HttpHeaders.IF_RANGE, "\"" + etag + "\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("01"));
+    }
+
+    @Test
+    void servesFullBodyWhenIfRangeDoesNotMatch() throws Exception {
+        download(get("/api/imports/1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-1")
+                .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+        download(get("/api/imports/1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-1")
+                .header(HttpHeaders.IF_RANGE, "W/\"" + etag + "\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void honorsIfRangeDateOnlyWhenUnchanged() throws Exception {
+        download(get("/api/imports/1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-1")
+                .header(HttpHeaders.IF_RANGE, httpDate(lastModified)))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("01"));
+        download(get("/api/imports/1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-1")
+                .header(HttpHeaders.IF_RANGE, httpDate(lastModified.minusSeconds(60))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    private ResultActions download(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(instant, ZoneOffset.UTC));
+    }
+}
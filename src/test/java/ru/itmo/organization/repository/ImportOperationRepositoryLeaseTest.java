@@ -0,0 +1,132 @@
+package ru.itmo.organization.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itmo.organization.model.ImportCommitMode;
+import ru.itmo.organization.model.ImportObjectType;
+import ru.itmo.organization.model.ImportOperation;
+import ru.itmo.organization.model.ImportStatus;
+
+class ImportOperationRepositoryLeaseTest {
+
+    private static final String NODE = "node-a";
+    private static final String OTHER_NODE = "node-b";
+
+    private static LocalContainerEntityManagerFactoryBean factoryBean;
+    private static EntityManager entityManager;
+    private static TransactionTemplate transactionTemplate;
+    private static ImportOperationRepository repository;
+
+    private Long expired;
+    private Long leased;
+    private Long withoutLease;
+    private Long finished;
+    private Long own;
+
+    @BeforeAll
+    static void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:import-lease;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("ru.itmo.organization.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+        repository = new ImportOperationRepository();
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM ImportOperation").executeUpdate();
+            expired = persist(ImportStatus.IN_PROGRESS, OTHER_NODE, now.minusMinutes(1));
+            leased = persist(ImportStatus.IN_PROGRESS, OTHER_NODE, now.plusMinutes(1));
+            withoutLease = persist(ImportStatus.IN_PROGRESS, null, null);
+            finished = persist(ImportStatus.SUCCESS, OTHER_NODE, now.minusMinutes(1));
+            own = persist(ImportStatus.IN_PROGRESS, NODE, now.plusMinutes(1));
+        });
+    }
+
+    @Test
+    void reclaimsOnlyExpiredLeases() {
+        List<Long> claimed = transactionTemplate.execute(status -> ids(
+                repository.lockReclaimable(NODE, false, LocalDateTime.now(), 10)));
+
+        assertThat(claimed).containsExactlyInAnyOrder(expired, withoutLease);
+    }
+
+    @Test
+    void reclaimsOwnOperationsAfterRestart() {
+        List<Long> claimed = transactionTemplate.execute(status -> ids(
+                repository.lockReclaimable(NODE, true, LocalDateTime.now(), 10)));
+
+        assertThat(claimed).containsExactlyInAnyOrder(expired, withoutLease, own)
+                .doesNotContain(leased, finished);
+    }
+
+    @Test
+    void renewsLeasesOnlyForOwnedOperations() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MICROS);
+
+        int renewed = transactionTemplate.execute(status ->
+                repository.renewLeases(List.of(expired, own), NODE, expiresAt));
+
+        assertThat(renewed).isEqualTo(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.clear();
+            assertThat(repository.findById(own).orElseThrow().getLeaseExpiresAt()).isEqualTo(expiresAt);
+            assertThat(repository.findById(expired).orElseThrow().getLeaseExpiresAt())
+                    .isBefore(LocalDateTime.now());
+        });
+    }
+
+    private static Long persist(ImportStatus status, String node, LocalDateTime leaseExpiresAt) {
+        ImportOperation operation = new ImportOperation();
+        operation.setUsername("user");
+        operation.setStartedAt(LocalDateTime.now());
+        operation.setStatus(status);
+        operation.setObjectType(ImportObjectType.ORGANIZATION);
+        operation.setCommitMode(ImportCommitMode.CHUNKED);
+        operation.setOwnerNode(node);
+        operation.setLeaseExpiresAt(leaseExpiresAt);
+        return repository.save(operation).getId();
+    }
+
+    private static List<Long> ids(List<ImportOperation> operations) {
+        return operations.stream().map(ImportOperation::getId).toList();
+    }
+}
@@ -0,0 +1,170 @@
+package ru.itmo.organization.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.Map;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itmo.organization.config.ResultCacheProperties;
+import ru.itmo.organization.config.SearchProperties;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.model.Organization;
+import ru.itmo.organization.model.OrganizationType;
+import ru.itmo.organization.search.OrganizationSearchIndex;
+
+class OrganizationRepositoryStatementCountTest {
+
+    private static final int ORGANIZATIONS = 120;
+    private static final int TOWNS = 7;
+
+    private static LocalContainerEntityManagerFactoryBean factoryBean;
+    private static EntityManager entityManager;
+    private static TransactionTemplate transactionTemplate;
+    private static Statistics statistics;
+    private static OrganizationRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:statement-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("ru.itmo.organization.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false",
+                "hibernate.generate_statistics", "true",
+                "hibernate.session.events.log", "false"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        SearchProperties searchProperties = new SearchProperties();
+        ResultCacheProperties resultCacheProperties = new ResultCacheProperties();
+        resultCacheProperties.setEnabled(false);
+        repository = new OrganizationRepository(new OrganizationCountCache(searchProperties),
+                new OrganizationResultCache(resultCacheProperties, new SimpleMeterRegistry()),
+                new OrganizationSearchIndex(searchProperties, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+
+        seed();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50, 100})
+    void fetchesPageWithDetailsInConstantNumberOfStatements(int pageSize) {
+        long statements = countStatements(() -> {
+            CountedPage<Organization> page = repository.findAllWithDetails(
+                    PageRequest.of(0, pageSize, Sort.by("name")), CountStrategy.EXACT);
+            assertThat(page.getContent()).hasSize(pageSize);
+            assertThat(page.getTotalElements()).isEqualTo(ORGANIZATIONS);
+            touchDetails(page);
+        });
+
+        assertThat(statements).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50, 100})
+    void searchFetchesPageWithDetailsInConstantNumberOfStatements(int pageSize) {
+        long statements = countStatements(() -> {
+            CountedPage<Organization> page = repository.search("Org", "name",
+                    PageRequest.of(0, pageSize, Sort.by("id")), CountStrategy.EXACT);
+            assertThat(page.getContent()).hasSize(pageSize);
+            touchDetails(page);
+        });
+
+        assertThat(statements).isEqualTo(3);
+    }
+
+    private static long countStatements(Runnable action) {
+        return transactionTemplate.execute(status -> {
+            entityManager.clear();
+            statistics.clear();
+            action.run();
+            return statistics.getPrepareStatementCount();
+        });
+    }
+
+    private static void touchDetails(CountedPage<Organization> page) {
+        for (Organization organization : page.getContent()) {
+            assertThat(organization.getCoordinates().getX()).isNotNull();
+            assertThat(organization.getPostalAddress().getTown().getName()).isNotNull();
+            assertThat(organization.getOfficialAddress().getTown().getName()).isNotNull();
+        }
+    }
+
+    private static void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Location[] towns = new Location[TOWNS];
+            for (int i = 0; i < TOWNS; i++) {
+                towns[i] = new Location();
+                towns[i].setX((long) i);
+                towns[i].setY((long) i);
+                towns[i].setZ((double) i);
+                towns[i].setName("Town " + i);
+                entityManager.persist(towns[i]);
+            }
+            for (int i = 0; i < ORGANIZATIONS; i++) {
+                Coordinates coordinates = new Coordinates();
+                coordinates.setX((long) i);
+                coordinates.setY((long) i);
+                entityManager.persist(coordinates);
+
+                Address postal = address(String.format("%07d", i), towns[i % TOWNS]);
+                Address official = address(String.format("%07d", ORGANIZATIONS + i), towns[(i + 1) % TOWNS]);
+
+                Organization organization = new Organization();
+                organization.setName("Org " + i);
+                organization.setFullName("Organization " + i);
+                organization.setCreationDate(LocalDate.of(2024, 1, 1));
+                organization.setAnnualTurnover(1000L + i);
+                organization.setEmployeesCount(i);
+                organization.setRating(1 + i % 10);
+                organization.setType(OrganizationType.values()[i % OrganizationType.values().length]);
+                organization.setCoordinates(coordinates);
+                organization.setPostalAddress(postal);
+                organization.setOfficialAddress(official);
+                entityManager.persist(organization);
+            }
+        });
+    }
+
+    private static Address address(String zipCode, Location town) {
+        Address address = new Address();
+        address.setZipCode(zipCode);
+        address.setTown(town);
+        entityManager.persist(address);
+        return address;
+    }
+}
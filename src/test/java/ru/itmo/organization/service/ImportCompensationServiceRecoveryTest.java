@@ -0,0 +1,196 @@
+package ru.itmo.organization.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itmo.organization.dto.AddressDto;
+import ru.itmo.organization.dto.CoordinatesDto;
+import ru.itmo.organization.dto.LocationDto;
+import ru.itmo.organization.model.Address;
+import ru.itmo.organization.model.Coordinates;
+import ru.itmo.organization.model.Location;
+import ru.itmo.organization.repository.ImportOperationRepository;
+import ru.itmo.organization.repository.OrganizationCountCache;
+import ru.itmo.organization.repository.OrganizationResultCache;
+import ru.itmo.organization.search.OrganizationSearchIndex;
+
+@SpringJUnitConfig(ImportCompensationServiceRecoveryTest.PersistenceConfig.class)
+class ImportCompensationServiceRecoveryTest {
+
+    private static final Long OPERATION_ID = 42L;
+
+    @Autowired
+    private ImportCompensationService compensationService;
+
+    @Autowired
+    private ImportOperationRepository importOperationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM ImportJournalEntry").executeUpdate();
+            entityManager.createQuery("DELETE FROM Address").executeUpdate();
+            entityManager.createQuery("DELETE FROM Coordinates").executeUpdate();
+            entityManager.createQuery("DELETE FROM Location").executeUpdate();
+        });
+    }
+
+    @Test
+    void compensatesCommittedWorkersFromJournal() {
+        Long town = inTransaction(() -> {
+            Location prepared = location("Town");
+            compensationService.recordTowns(OPERATION_ID, List.of(prepared.getId()));
+            return prepared.getId();
+        });
+        List<Long> firstWorker = inTransaction(() -> {
+            Coordinates coordinates = coordinates();
+            Address address = address(town);
+            ImportCompensationService.CreatedRecords created = new ImportCompensationService.CreatedRecords();
+            created.addAll(List.of(
+                    new CoordinatesDto(coordinates.getId(), 1L, 2L, null),
+                    new AddressDto(address.getId(), null, town, null, null)));
+            compensationService.record(OPERATION_ID, created);
+            return List.of(coordinates.getId(), address.getId());
+        });
+        Long secondWorker = inTransaction(() -> {
+            Location location = location("Imported");
+            ImportCompensationService.CreatedRecords created = new ImportCompensationService.CreatedRecords();
+            created.addAll(List.of(new LocationDto(location.getId(), 1L, 2L, 3.0, "Imported", null)));
+            compensationService.record(OPERATION_ID, created);
+            return location.getId();
+        });
+
+        compensationService.compensate(OPERATION_ID);
+
+        assertThat(count(Coordinates.class, firstWorker.get(0))).isZero();
+        assertThat(count(Address.class, firstWorker.get(1))).isZero();
+        assertThat(count(Location.class, secondWorker)).isZero();
+        assertThat(count(Location.class, town)).isZero();
+        assertThat(journal()).isEmpty();
+    }
+
+    @Test
+    void keepsPreparedTownsReferencedByOtherImports() {
+        Long town = inTransaction(() -> {
+            Location prepared = location("Shared");
+            compensationService.recordTowns(OPERATION_ID, List.of(prepared.getId()));
+            return prepared.getId();
+        });
+        Long foreignAddress = inTransaction(() -> address(town).getId());
+
+        compensationService.compensate(OPERATION_ID);
+
+        assertThat(count(Location.class, town)).isEqualTo(1);
+        assertThat(count(Address.class, foreignAddress)).isEqualTo(1);
+        assertThat(journal()).isEmpty();
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private Location location(String name) {
+        Location location = new Location();
+        location.setX(1L);
+        location.setY(2L);
+        location.setZ(3.0);
+        location.setName(name);
+        entityManager.persist(location);
+        return location;
+    }
+
+    private Coordinates coordinates() {
+        Coordinates coordinates = new Coordinates();
+        coordinates.setX(1L);
+        coordinates.setY(2L);
+        entityManager.persist(coordinates);
+        return coordinates;
+    }
+
+    private Address address(Long townId) {
+        Address address = new Address();
+        address.setTown(entityManager.getReference(Location.class, townId));
+        entityManager.persist(address);
+        return address;
+    }
+
+    private long count(Class<?> entity, Long id) {
+        return inTransaction(() -> entityManager.createQuery(
+                        "SELECT COUNT(e) FROM " + entity.getSimpleName() + " e WHERE e.id = :id", Long.class)
+                .setParameter("id", id)
+                .getSingleResult());
+    }
+
+    private List<?> journal() {
+        return inTransaction(() -> importOperationRepository.findJournal(OPERATION_ID));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class PersistenceConfig {
+
+        @Bean
+        DataSource dataSource() {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:import-compensation;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+            factoryBean.setDataSource(dataSource);
+            factoryBean.setPackagesToScan("ru.itmo.organization.model");
+            factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factoryBean.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create-drop",
+                    "hibernate.cache.use_second_level_cache", "false",
+                    "hibernate.cache.use_query_cache", "false"));
+            return factoryBean;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        ImportOperationRepository importOperationRepository() {
+            return new ImportOperationRepository();
+        }
+
+        @Bean
+        ImportCompensationService importCompensationService(ImportOperationRepository repository) {
+            return new ImportCompensationService(mock(OrganizationCountCache.class),
+                    mock(OrganizationResultCache.class), mock(OrganizationAggregates.class),
+                    mock(OrganizationSearchIndex.class), repository);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ru.itmo.organization.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.itmo.organization.config.ImportProperties;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.model.ImportObjectType;
+import ru.itmo.organization.repository.ImportOperationRepository;
+import ru.itmo.organization.service.storage.StorageService;
+
+@Tag("low-memory")
+class ImportTransactionServiceLargeFileTest {
+
+    private static final int RECORDS = 1_200_000;
+    private static final long MIN_FILE_SIZE = 300L * 1024 * 1024;
+
+    @Test
+    void importsMultiHundredMegabyteFileWithBoundedHeap() throws Exception {
+        ImportExecutorService executor = mock(ImportExecutorService.class, withSettings().stubOnly());
+        AtomicInteger lastRecordNumber = new AtomicInteger();
+        when(executor.executeChunk(anyList(), any(ImportObjectType.class), anyInt(), any(ImportLocationCache.class)))
+                .thenAnswer(invocation -> {
+                    List<?> chunk = invocation.getArgument(0);
+                    int firstIndex = invocation.getArgument(2);
+                    assertThat(firstIndex).isEqualTo(lastRecordNumber.get() + 1);
+                    assertThat(chunk).allSatisfy(record -> assertThat(record).isInstanceOf(ImportOrganizationDto.class));
+                    lastRecordNumber.addAndGet(chunk.size());
+                    return chunk;
+                });
+
+        ImportProperties properties = new ImportProperties();
+        ImportTransactionService service = new ImportTransactionService(
+                mock(ImportOperationRepository.class, withSettings().stubOnly()),
+                executor,
+                mock(StorageService.class, withSettings().stubOnly()),
+                properties,
+                mock(ImportOperationLogService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class, withSettings().stubOnly()));
+
+        GeneratedImportFile file = new GeneratedImportFile(RECORDS);
+        AtomicInteger progress = new AtomicInteger();
+        int imported;
+        try (ImportRecordReader reader = new ImportRecordReader(new ObjectMapper(), file, ImportOrganizationDto.class)) {
+            imported = service.executeImport(1L, reader, ImportObjectType.ORGANIZATION, null, new ImportLocationCache(),
+                    progress::set);
+        }
+
+        assertThat(file.bytesRead()).isGreaterThan(MIN_FILE_SIZE);
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThan(file.bytesRead() / 2);
+        assertThat(imported).isEqualTo(RECORDS);
+        assertThat(lastRecordNumber.get()).isEqualTo(RECORDS);
+        assertThat(progress.get()).isEqualTo(RECORDS);
+    }
+
+    private static final class GeneratedImportFile extends InputStream {
+
+        private static final String[] TYPES = {"COMMERCIAL", "PUBLIC", "GOVERNMENT", "TRUST", "PRIVATE_LIMITED_COMPANY"};
+
+        private final int records;
+        private int next;
+        private byte[] buffer = "[".getBytes(StandardCharsets.UTF_8);
+        private int position;
+        private long bytesRead;
+
+        private GeneratedImportFile(int records) {
+            this.records = records;
+        }
+
+        long bytesRead() {
+            return bytesRead;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            bytesRead++;
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.length - position);
+            System.arraycopy(buffer, position, target, offset, count);
+            position += count;
+            bytesRead += count;
+            return count;
+        }
+
+        private boolean fill() {
+            if (position < buffer.length) {
+                return true;
+            }
+            if (next > records) {
+                return false;
+            }
+            buffer = (next == records ? "]" : record(next)).getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            next++;
+            return true;
+        }
+
+        private static String record(int i) {
+            String separator = i == 0 ? "" : ",";
+            return separator + "{\"name\":\"Organization " + i + "\","
+                    + "\"fullName\":\"Generated organization number " + i + " for the large import test\","
+                    + "\"coordinates\":{\"x\":" + (i % 1000) + ",\"y\":" + (i / 1000) + "},"
+                    + "\"annualTurnover\":" + (1000L + i) + ","
+                    + "\"employeesCount\":" + (i % 500) + ","
+                    + "\"rating\":" + (1 + i % 10) + ","
+                    + "\"type\":\"" + TYPES[i % TYPES.length] + "\","
+                    + "\"postalAddress\":{\"zipCode\":\"" + String.format("%07d", i) + "\","
+                    + "\"town\":{\"x\":" + i + ",\"y\":" + (i * 2L) + ",\"z\":" + (i / 10.0)
+                    + ",\"name\":\"Town " + (i % 100) + "\"}}}";
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package ru.itmo.organization.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itmo.organization.config.ImportProperties;
+import ru.itmo.organization.dto.ImportOrganizationDto;
+import ru.itmo.organization.model.ImportCommitMode;
+import ru.itmo.organization.model.ImportObjectType;
+import ru.itmo.organization.model.ImportOperation;
+import ru.itmo.organization.model.ImportStatus;
+import ru.itmo.organization.repository.ImportOperationRepository;
+import ru.itmo.organization.service.storage.StorageEncoding;
+import ru.itmo.organization.service.storage.StorageService;
+import ru.itmo.organization.service.storage.StorageTransaction;
+
+@SpringJUnitConfig(ImportTransactionServiceProgressTest.PersistenceConfig.class)
+class ImportTransactionServiceProgressTest {
+
+    private static final int RECORDS = 12;
+    private static final StorageTransaction STAGED = new StorageTransaction(
+            "imports", "staged/file.json", "final/file.json", "file.json", 100, "application/json",
+            StorageEncoding.IDENTITY);
+
+    @Autowired
+    private ImportTransactionService importTransactionService;
+
+    @Autowired
+    private ImportOperationLogService importOperationLogService;
+
+    @Autowired
+    private ImportOperationRepository importOperationRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM ImportCommit").executeUpdate();
+            entityManager.createQuery("DELETE FROM ImportOperation").executeUpdate();
+        });
+    }
+
+    @Test
+    void commitsAtomicImportWhileProgressAndLeaseAreWritten() throws Exception {
+        ImportOperation operation = importOperationLogService.startOperation(
+                "user", ImportObjectType.ORGANIZATION, ImportCommitMode.ATOMIC, STAGED);
+        Long operationId = operation.getId();
+        IntConsumer progress = processed -> {
+            importOperationLogService.updateProgress(operationId, processed, RECORDS);
+            importOperationLogService.renewLeases(Set.of(operationId));
+        };
+
+        int imported;
+        try (ImportRecordReader reader = reader()) {
+            imported = importTransactionService.executeImport(operationId, reader, ImportObjectType.ORGANIZATION,
+                    STAGED, new ImportLocationCache(), progress);
+        }
+
+        assertThat(imported).isEqualTo(RECORDS);
+        ImportOperation interrupted = reload(operationId);
+        assertThat(interrupted.getStatus()).isEqualTo(ImportStatus.IN_PROGRESS);
+        assertThat(interrupted.getProcessedCount()).isEqualTo(RECORDS);
+        assertThat(importOperationLogService.committedCount(interrupted)).isEqualTo(RECORDS);
+
+        importOperationLogService.markSuccess(operationId, STAGED, imported, new ImportLocationCache());
+
+        ImportOperation finished = reload(operationId);
+        assertThat(finished.getStatus()).isEqualTo(ImportStatus.SUCCESS);
+        assertThat(finished.getAddedCount()).isEqualTo(RECORDS);
+        assertThat(importOperationLogService.committedCount(finished)).isNull();
+    }
+
+    @Test
+    void refusesToCommitImportOwnedByAnotherInstance() throws Exception {
+        ImportOperation operation = importOperationLogService.startOperation(
+                "user", ImportObjectType.ORGANIZATION, ImportCommitMode.ATOMIC, STAGED);
+        Long operationId = operation.getId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ImportOperation stolen = importOperationRepository.findById(operationId).orElseThrow();
+            stolen.setOwnerNode("another-node");
+        });
+
+        try (ImportRecordReader reader = reader()) {
+            assertThatThrownBy(() -> importTransactionService.executeImport(operationId, reader,
+                    ImportObjectType.ORGANIZATION, STAGED, new ImportLocationCache(), processed -> {}))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(importOperationLogService.committedCount(reload(operationId))).isNull();
+    }
+
+    private ImportOperation reload(Long operationId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.clear();
+            return importOperationRepository.findById(operationId).orElseThrow();
+        });
+    }
+
+    private static ImportRecordReader reader() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < RECORDS; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"name\":\"Organization ").append(i).append("\"}");
+        }
+        json.append(']');
+        return new ImportRecordReader(new ObjectMapper(),
+                new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)),
+                ImportOrganizationDto.class);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class PersistenceConfig {
+
+        @Bean
+        DataSource dataSource() {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:import-progress;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+            factoryBean.setDataSource(dataSource);
+            factoryBean.setPackagesToScan("ru.itmo.organization.model");
+            factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factoryBean.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create-drop",
+                    "hibernate.cache.use_second_level_cache", "false",
+                    "hibernate.cache.use_query_cache", "false"));
+            return factoryBean;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        ImportProperties importProperties() {
+            ImportProperties properties = new ImportProperties();
+            properties.setChunkSize(5);
+            properties.setNodeId("node-a");
+            return properties;
+        }
+
+        @Bean
+        ImportOperationRepository importOperationRepository() {
+            return new ImportOperationRepository();
+        }
+
+        @Bean
+        ImportOperationLogService importOperationLogService(ImportOperationRepository repository,
+                ImportProperties properties) {
+            return new ImportOperationLogService(repository, properties);
+        }
+
+        @Bean
+        ImportExecutorService importExecutorService() {
+            ImportExecutorService executor = mock(ImportExecutorService.class);
+            when(executor.executeChunk(anyList(), any(ImportObjectType.class), anyInt(),
+                    any(ImportLocationCache.class))).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+            return executor;
+        }
+
+        @Bean
+        ImportTransactionService importTransactionService(ImportOperationRepository repository,
+                ImportExecutorService executor, ImportProperties properties,
+                ImportOperationLogService logService) {
+            return new ImportTransactionService(repository, executor, mock(StorageService.class), properties,
+                    logService);
+        }
+    }
+}
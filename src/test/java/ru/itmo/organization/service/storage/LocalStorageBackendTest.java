@@ -0,0 +1,144 @@
+package ru.itmo.organization.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.itmo.organization.config.StorageProperties;
+
+class LocalStorageBackendTest {
+
+    private static final String BUCKET = "imports";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path root;
+
+    private LocalStorageBackend backend;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageProperties properties = new StorageProperties();
+        properties.getLocal().setRoot(root.resolve("storage").toString());
+        backend = new LocalStorageBackend(properties);
+        backend.ensureBucket(BUCKET);
+    }
+
+    @Test
+    void rejectsObjectNamesOutsideBucket() {
+        assertThatThrownBy(() -> put("../escaped.json"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> put("nested/../../escaped.json"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> put("."))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> backend.open(BUCKET, "/etc/passwd", 0, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(root.resolve("storage").resolve("escaped.json")).doesNotExist();
+    }
+
+    @Test
+    void rejectsBucketNamesOutsideRoot() {
+        assertThatThrownBy(() -> backend.ensureBucket("../outside"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> backend.ensureBucket(""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(root.resolve("outside")).doesNotExist();
+    }
+
+    @Test
+    void movesStagedObjectIntoPlace() throws IOException {
+        put("staged/file.json");
+
+        backend.move(BUCKET, "staged/file.json", "final/2026/file.json");
+
+        Path bucket = root.resolve("storage").resolve(BUCKET);
+        assertThat(bucket.resolve("staged/file.json")).doesNotExist();
+        assertThat(Files.readAllBytes(bucket.resolve("final/2026/file.json"))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void moveReplacesExistingTarget() throws IOException {
+        backend.put(BUCKET, "final/file.json", new ByteArrayInputStream(new byte[] {1}), 1, null);
+        put("staged/file.json");
+
+        backend.move(BUCKET, "staged/file.json", "final/file.json");
+
+        assertThat(read(backend.open(BUCKET, "final/file.json", 0, -1))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void opensRequestedRange() throws IOException {
+        put("file.json");
+
+        assertThat(text(backend.open(BUCKET, "file.json", 2, 5))).isEqualTo("23456");
+        assertThat(text(backend.open(BUCKET, "file.json", 7, -1))).isEqualTo("789");
+    }
+
+    @Test
+    void clampsRangeToObjectBounds() throws IOException {
+        put("file.json");
+
+        assertThat(text(backend.open(BUCKET, "file.json", 8, 100))).isEqualTo("89");
+        assertThat(text(backend.open(BUCKET, "file.json", -3, 2))).isEqualTo("01");
+        assertThat(text(backend.open(BUCKET, "file.json", 10, 5))).isEmpty();
+        assertThat(text(backend.open(BUCKET, "file.json", 50, -1))).isEmpty();
+    }
+
+    @Test
+    void transferToStopsAtRangeEnd() throws IOException {
+        put("file.json");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (InputStream input = backend.open(BUCKET, "file.json", 3, 4)) {
+            assertThat(input.transferTo(output)).isEqualTo(4);
+            assertThat(input.read()).isEqualTo(-1);
+            assertThat(input.available()).isZero();
+        }
+
+        assertThat(output.toString(StandardCharsets.US_ASCII)).isEqualTo("3456");
+    }
+
+    @Test
+    void skipDoesNotPassRangeEnd() throws IOException {
+        put("file.json");
+
+        try (InputStream input = backend.open(BUCKET, "file.json", 1, 5)) {
+            assertThat(input.skip(3)).isEqualTo(3);
+            assertThat(input.skip(10)).isEqualTo(2);
+            assertThat(input.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void removesPartialObjectWhenSizeDiffers() {
+        assertThatThrownBy(() -> backend.put(BUCKET, "file.json", new ByteArrayInputStream(CONTENT),
+                CONTENT.length + 1, null))
+                .isInstanceOf(IOException.class);
+
+        assertThat(root.resolve("storage").resolve(BUCKET).resolve("file.json")).doesNotExist();
+    }
+
+    private void put(String objectName) throws IOException {
+        backend.put(BUCKET, objectName, new ByteArrayInputStream(CONTENT), CONTENT.length, "application/json");
+    }
+
+    private static byte[] read(InputStream input) throws IOException {
+        try (input) {
+            return input.readAllBytes();
+        }
+    }
+
+    private static String text(InputStream input) throws IOException {
+        return new String(read(input), StandardCharsets.US_ASCII);
+    }
+}
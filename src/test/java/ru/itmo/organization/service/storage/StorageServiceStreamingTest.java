@@ -0,0 +1,246 @@
+package ru.itmo.organization.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.minio.BucketExistsArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import ru.itmo.organization.config.MinioProperties;
+import ru.itmo.organization.config.StorageProperties;
+import ru.itmo.organization.exception.StorageUnavailableException;
+
+class StorageServiceStreamingTest {
+
+    private static final String BUCKET = "imports";
+    private static final int RECORDS = 20_000;
+    private static final int CONCURRENT_UPLOADS = 16;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private MinioClient minioClient;
+    private StorageProperties storageProperties;
+    private StorageService storageService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        minioClient = mock(MinioClient.class);
+        when(minioClient.bucketExists(any(BucketExistsArgs.class))).thenReturn(true);
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(store());
+        doAnswer(invocation -> {
+            RemoveObjectArgs args = invocation.getArgument(0);
+            objects.remove(args.object());
+            return null;
+        }).when(minioClient).removeObject(any(RemoveObjectArgs.class));
+
+        MinioProperties minioProperties = new MinioProperties();
+        minioProperties.setBucket(BUCKET);
+        storageProperties = new StorageProperties();
+        storageService = new StorageService(new MinioStorageBackend(minioClient), minioProperties, storageProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.shutdown();
+    }
+
+    @Test
+    void teesBodyIntoStorageAndParser() {
+        byte[] body = json(RECORDS);
+
+        StagedUpload<Integer> upload = storageService.stageImportStream(
+                new ByteArrayInputStream(body), "orgs.json", "application/json", -1, this::countRecords);
+
+        assertThat(upload.result()).isEqualTo(RECORDS);
+        StorageTransaction staged = upload.transaction();
+        assertThat(staged.encoding()).isEqualTo(StorageEncoding.IDENTITY);
+        assertThat(staged.size()).isEqualTo(body.length);
+        assertThat(objects).containsOnlyKeys(staged.tempObjectName());
+        assertThat(objects.get(staged.tempObjectName())).isEqualTo(body);
+    }
+
+    @Test
+    void compressesStoredCopyWhileParserReadsPlainJson() throws IOException {
+        storageProperties.setCompression("gzip");
+        byte[] body = json(RECORDS);
+
+        StagedUpload<Integer> upload = storageService.stageImportStream(
+                new ByteArrayInputStream(body), "orgs.json", "application/json", body.length, this::countRecords);
+
+        assertThat(upload.result()).isEqualTo(RECORDS);
+        assertThat(upload.transaction().encoding()).isEqualTo(StorageEncoding.GZIP);
+        byte[] stored = objects.get(upload.transaction().tempObjectName());
+        assertThat(stored).hasSize((int) upload.transaction().size()).hasSizeLessThan(body.length);
+        assertThat(gunzip(stored)).isEqualTo(body);
+    }
+
+    @Test
+    void storesGzippedBodyAsIsAndParsesDecodedStream() throws IOException {
+        byte[] body = json(RECORDS);
+        byte[] gzipped = gzip(body);
+
+        StagedUpload<Integer> upload = storageService.stageImportStream(
+                new ByteArrayInputStream(gzipped), "orgs.json.gz", "application/octet-stream", gzipped.length,
+                this::countRecords);
+
+        assertThat(upload.result()).isEqualTo(RECORDS);
+        assertThat(upload.transaction().encoding()).isEqualTo(StorageEncoding.GZIP);
+        assertThat(objects.get(upload.transaction().tempObjectName())).isEqualTo(gzipped);
+    }
+
+    @Test
+    void malformedBodyIsReportedAsParseErrorAndRolledBack() {
+        byte[] body = ("[{\"name\":\"broken\"," + "x".repeat(200_000)).getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> storageService.stageImportStream(
+                new ByteArrayInputStream(body), "broken.json", "application/json", -1, this::countRecords))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Некорректный JSON");
+        assertThat(objects).isEmpty();
+    }
+
+    @Test
+    void backendFailureTakesPrecedenceOverTruncatedParse() throws Exception {
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            PutObjectArgs args = invocation.getArgument(0);
+            args.stream().readNBytes(128 * 1024);
+            throw new IOException("No space left on device");
+        });
+
+        assertThatThrownBy(() -> storageService.stageImportStream(
+                new ByteArrayInputStream(json(RECORDS)), "orgs.json", "application/json", -1, this::countRecords))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Не удалось сохранить файл в хранилище")
+                .hasRootCauseMessage("No space left on device");
+        assertThat(objects).isEmpty();
+    }
+
+    @Test
+    void connectionFailureIsReportedAsStorageUnavailable() throws Exception {
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenThrow(new ConnectException("Connection refused"));
+
+        assertThatThrownBy(() -> storageService.stageImportStream(
+                new ByteArrayInputStream(json(RECORDS)), "orgs.json", "application/json", -1, this::countRecords))
+                .isInstanceOf(StorageUnavailableException.class);
+        assertThat(objects).isEmpty();
+    }
+
+    @Test
+    void rejectsUploadBeyondPoolCapacityWithStorageUnavailable() throws Exception {
+        CountDownLatch started = new CountDownLatch(CONCURRENT_UPLOADS);
+        CountDownLatch release = new CountDownLatch(1);
+        Answer<Object> store = store();
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return store.answer(invocation);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENT_UPLOADS);
+        try {
+            List<Future<StagedUpload<Integer>>> uploads = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_UPLOADS; i++) {
+                uploads.add(callers.submit(() -> storageService.stageImportStream(
+                        new ByteArrayInputStream(json(10)), "orgs.json", "application/json", -1,
+                        this::countRecords)));
+            }
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> storageService.stageImportStream(
+                    new ByteArrayInputStream(json(10)), "orgs.json", "application/json", -1, this::countRecords))
+                    .isInstanceOf(StorageUnavailableException.class)
+                    .hasMessageContaining("Слишком много одновременных загрузок");
+
+            release.countDown();
+            for (Future<StagedUpload<Integer>> upload : uploads) {
+                assertThat(upload.get(10, TimeUnit.SECONDS).result()).isEqualTo(10);
+            }
+            assertThat(objects).hasSize(CONCURRENT_UPLOADS);
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    private Answer<Object> store() {
+        return invocation -> {
+            PutObjectArgs args = invocation.getArgument(0);
+            objects.put(args.object(), args.stream().readAllBytes());
+            return null;
+        };
+    }
+
+    private int countRecords(InputStream stream) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Некорректный JSON: ожидался массив");
+            }
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                count++;
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Некорректный JSON: ожидался конец массива");
+            }
+            return count;
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Некорректный JSON: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static byte[] json(int records) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"name\":\"Organization ").append(i).append("\",\"rating\":").append(1 + i % 10)
+                    .append('}');
+        }
+        return builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        }
+    }
+}